@@ -4,6 +4,7 @@ plugins {
     alias(libs.plugins.develocityApiConventions)
     alias(libs.plugins.javaLibrary)
     alias(libs.plugins.javaTestFixtures)
+    alias(libs.plugins.jmh)
     alias(libs.plugins.releaseConventions)
 }
 
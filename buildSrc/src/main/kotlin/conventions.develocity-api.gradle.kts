@@ -1,5 +1,7 @@
 @file:Suppress("UnstableApiUsage", "unused", "HasPlatformType")
 
+import org.openapitools.generator.gradle.plugin.tasks.GenerateTask
+
 plugins {
     id("java")
     id("org.openapi.generator")
@@ -51,6 +53,19 @@ val postProcessDevelocityApiSpecification by tasks.registering(PostProcessDevelo
     outputSpecification = layout.buildDirectory.file("$name/openapi.yaml")
 }
 
+// see https://github.com/OpenAPITools/openapi-generator/blob/master/docs/generators/java.md for a description of each configuration option
+val openApiConfigOptions = mapOf(
+    "additionalModelTypeAnnotations" to "@com.fasterxml.jackson.annotation.JsonInclude(com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL)",
+    "containerDefaultToNull" to "true",
+    "disallowAdditionalPropertiesIfNotPresent" to "false",
+    "hideGenerationTimestamp" to "true",
+    "library" to "native",
+    "openApiNullable" to "false",
+    "supportUrlQuery" to "false",
+    "useBeanValidation" to "false",
+    "useJakartaEe" to "true",
+)
+
 openApiGenerate {
     generatorName = "java"
     inputSpec = postProcessDevelocityApiSpecification.flatMap { it.outputSpecification }
@@ -60,18 +75,26 @@ openApiGenerate {
     invokerPackage = provider { "$group.unused.invoker" }
     cleanupOutput = true
     openapiNormalizer = mapOf("REF_AS_PARENT_IN_ALLOF" to "true")
-    // see https://github.com/OpenAPITools/openapi-generator/blob/master/docs/generators/java.md for a description of each configuration option
-    configOptions = mapOf(
-        "additionalModelTypeAnnotations" to "@com.fasterxml.jackson.annotation.JsonInclude(com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL)",
-        "containerDefaultToNull" to "true",
-        "disallowAdditionalPropertiesIfNotPresent" to "false",
-        "hideGenerationTimestamp" to "true",
-        "library" to "native",
-        "openApiNullable" to "false",
-        "supportUrlQuery" to "false",
-        "useBeanValidation" to "false",
-        "useJakartaEe" to "true",
-    )
+    configOptions = openApiConfigOptions
+}
+
+val extractDevelocityApiCodecTemplates by tasks.registering(ExtractDevelocityApiCodecTemplates::class) {
+    template = DevelocityApiExtension::class.java.getResource("/develocity-api-codecs/model.mustache")!!.readText()
+    outputTemplateDirectory = layout.buildDirectory.dir(name)
+}
+
+// generates a reflection-free Jackson reader and writer for each model, see ModelCodecs for the code they share
+val openApiGenerateCodecs by tasks.registering(GenerateTask::class) {
+    dependsOn(extractDevelocityApiCodecTemplates)
+    generatorName = "java"
+    inputSpec = postProcessDevelocityApiSpecification.flatMap { it.outputSpecification }
+    outputDir = layout.buildDirectory.dir("generated/openapi-codecs")
+    templateDir = extractDevelocityApiCodecTemplates.flatMap { it.outputTemplateDirectory }.map { it.asFile.absolutePath }
+    modelPackage = provider { "$group.develocity.api" }
+    cleanupOutput = true
+    openapiNormalizer = mapOf("REF_AS_PARENT_IN_ALLOF" to "true")
+    globalProperties = mapOf("models" to "", "modelDocs" to "false", "modelTests" to "false")
+    configOptions = openApiConfigOptions
 }
 
 val generateDevelocityApiModels by tasks.registering(Sync::class) {
@@ -82,9 +105,24 @@ val generateDevelocityApiModels by tasks.registering(Sync::class) {
             path = path.removePrefix("src/main/java")
         }
     }
+    from(openApiGenerateCodecs) {
+        includeEmptyDirs = false
+        include("src/main/java/dev/erichaag/develocity/api/*")
+        eachFile {
+            // the template renders nothing for models Jackson must keep binding itself, such as enums or models with read-only properties
+            if (file.readText().isBlank()) exclude()
+            path = path.removePrefix("src/main/java").removeSuffix(".java") + "Codec.java"
+        }
+    }
     into(layout.buildDirectory.dir(name))
 }
 
+val generateDevelocityApiModule by tasks.registering(GenerateDevelocityApiModule::class) {
+    codecs = generateDevelocityApiModels.map { it.outputs.files.asFileTree.matching { include("**/*Codec.java") } }
+    packageName = provider { "$group.develocity.api" }
+    outputSourceDirectory = layout.buildDirectory.dir(name)
+}
+
 val checkSupportedBuildModels by tasks.registering(CheckSupportedBuildModels::class) {
     inputSpecification = resolvableDevelocityApiSpecification
     sources = sourceSets.main.map { it.java.sourceDirectories }
@@ -92,7 +130,7 @@ val checkSupportedBuildModels by tasks.registering(CheckSupportedBuildModels::cl
 }
 
 val generate by tasks.registering {
-    dependsOn(generateDevelocityApiModels)
+    dependsOn(generateDevelocityApiModels, generateDevelocityApiModule)
 }
 
 val check by tasks.getting {
@@ -103,6 +141,7 @@ sourceSets {
     main {
         java {
             srcDir(generateDevelocityApiModels)
+            srcDir(generateDevelocityApiModule)
         }
     }
 }
@@ -129,6 +168,66 @@ abstract class PostProcessDevelocityApiSpecification : DefaultTask() {
 
 }
 
+abstract class ExtractDevelocityApiCodecTemplates : DefaultTask() {
+
+    @get:Input
+    abstract val template: Property<String>
+
+    @get:OutputDirectory
+    abstract val outputTemplateDirectory: DirectoryProperty
+
+    @TaskAction
+    fun action() {
+        outputTemplateDirectory.get().asFile.resolve("model.mustache").writeText(template.get())
+    }
+
+}
+
+abstract class GenerateDevelocityApiModule : DefaultTask() {
+
+    @get:InputFiles
+    abstract val codecs: Property<FileCollection>
+
+    @get:Input
+    abstract val packageName: Property<String>
+
+    @get:OutputDirectory
+    abstract val outputSourceDirectory: DirectoryProperty
+
+    @TaskAction
+    fun action() {
+        val models = codecs.get().files.map { it.name.removeSuffix("Codec.java") }.sorted()
+        val registrations = models.joinToString("\n") {
+            "        addDeserializer($it.class, new ${it}Codec.Reader());\n        addSerializer($it.class, new ${it}Codec.Writer());"
+        }
+        outputSourceDirectory.get().asFile
+            .resolve(packageName.get().replace('.', '/'))
+            .apply { mkdirs() }
+            .resolve("DevelocityApiModule.java")
+            .writeText(
+                """
+                |package ${packageName.get()};
+                |
+                |import com.fasterxml.jackson.databind.module.SimpleModule;
+                |
+                |/**
+                | * A Jackson module that reads and writes the models generated from the
+                | * Develocity API specification with generated code instead of reflection.
+                | */
+                |public final class DevelocityApiModule extends SimpleModule {
+                |
+                |    public DevelocityApiModule() {
+                |        super("DevelocityApiModule");
+                |$registrations
+                |    }
+                |
+                |}
+                |""".trimMargin()
+            )
+    }
+
+}
+
 abstract class CheckSupportedBuildModels : DefaultTask() {
 
     @get:InputFiles
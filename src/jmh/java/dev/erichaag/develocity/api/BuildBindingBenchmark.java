@@ -0,0 +1,106 @@
+package dev.erichaag.develocity.api;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Measures how many builds per second are read and written with reflective
+ * Jackson binding, with the generated codecs, and with the generated codecs
+ * and lazily bound build models. Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BuildBindingBenchmark {
+
+    private static final String buildJson = """
+            {
+              "id": "foobarbazqux1",
+              "availableAt": 100,
+              "buildToolType": "gradle",
+              "buildToolVersion": "8.6",
+              "buildAgentVersion": "3.17.5",
+              "models": {
+                "gradleAttributes": {
+                  "model": {
+                    "id": "foobarbazqux1",
+                    "buildStartTime": 0,
+                    "buildDuration": 100,
+                    "gradleVersion": "8.6",
+                    "pluginVersion": "3.17.5",
+                    "rootProjectName": "develocity-build-processor",
+                    "requestedTasks": ["clean", "build"],
+                    "hasFailed": false,
+                    "tags": ["CI", "Linux", "main"],
+                    "values": [
+                      {"name": "Git branch", "value": "main"},
+                      {"name": "Git commit id", "value": "0123456789abcdef0123456789abcdef01234567"},
+                      {"name": "Git repository", "value": "https://github.com/erichaagdev/develocity-build-processor"}
+                    ],
+                    "environment": {"username": "erichaag", "publicHostname": "ci.example.com"}
+                  }
+                },
+                "gradleProjects": {
+                  "model": [
+                    {"name": "develocity-build-processor"},
+                    {"name": "buildSrc"}
+                  ]
+                }
+              }
+            }""";
+
+    @Param({"reflection", "codecs", "lazy"})
+    public String binding;
+
+    private ObjectReader reader;
+    private ObjectWriter writer;
+    private byte[] json;
+    private ApiBuild build;
+
+    @Setup
+    public void setUp() throws IOException {
+        final var objectMapper = new JsonMapper();
+        if (!binding.equals("reflection")) objectMapper.registerModule(new DevelocityApiModule());
+        if (binding.equals("lazy")) objectMapper.registerModule(new LazyBuildModelsModule());
+        reader = objectMapper.readerFor(ApiBuild.class);
+        writer = objectMapper.writerFor(ApiBuild.class);
+        json = buildJson.getBytes(UTF_8);
+        build = reader.readValue(json);
+    }
+
+    @Benchmark
+    public ApiBuild read() throws IOException {
+        return reader.readValue(json);
+    }
+
+    @Benchmark
+    public BuildModelsGradleAttributes readGradleAttributes() throws IOException {
+        return reader.<ApiBuild>readValue(json).getModels().getGradleAttributes();
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        return writer.writeValueAsBytes(build);
+    }
+
+}
@@ -2,25 +2,31 @@ package dev.erichaag.develocity.api;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Stream;
 
 import static dev.erichaag.develocity.api.AttributesNotPresentException.attributesNotPresent;
 import static dev.erichaag.develocity.api.BuildModel.BAZEL_ATTRIBUTES;
 import static dev.erichaag.develocity.api.BuildModel.BAZEL_CRITICAL_PATH;
+import static dev.erichaag.develocity.api.LazyBuildModels.buildHashCode;
+import static dev.erichaag.develocity.api.LazyBuildModels.equalBuilds;
+import static dev.erichaag.develocity.api.LazyBuildModels.isAvailable;
 import static dev.erichaag.develocity.api.MethodNotSupportedException.methodNotSupportedForBazel;
+import static java.util.Collections.unmodifiableSet;
 import static java.util.Optional.ofNullable;
-import static java.util.stream.Collectors.toUnmodifiableSet;
 
 public final class BazelBuild implements Build {
 
     private final ApiBuild build;
+    private final Set<BuildModel> availableBuildModels;
+
+    private volatile BuildAttributesIndex attributesIndex;
 
     BazelBuild(ApiBuild build) {
         this.build = build;
+        this.availableBuildModels = findAvailableBuildModels();
     }
 
     @Override
@@ -90,21 +96,45 @@ public final class BazelBuild implements Build {
                 .orElseThrow(attributesNotPresent("getTags()"));
     }
 
+    @Override
+    public boolean hasTag(String tag) {
+        return getAttributesIndex("getTags()").hasTag(tag);
+    }
+
     @Override
     public List<Value> getValues() {
-        return getAttributes()
-                .orElseThrow(attributesNotPresent("getValues()"))
-                .getValues()
-                .stream()
-                .map(Value::new)
-                .toList();
+        return getAttributesIndex("getValues()").values();
+    }
+
+    @Override
+    public boolean hasValue(String key) {
+        return getAttributesIndex("getValues()").hasValue(key);
+    }
+
+    @Override
+    public List<String> getValues(String key) {
+        return getAttributesIndex("getValues()").values(key);
+    }
+
+    private BuildAttributesIndex getAttributesIndex(String methodName) {
+        var index = attributesIndex;
+        if (index == null) {
+            final var attributes = getAttributes().orElseThrow(attributesNotPresent(methodName));
+            index = new BuildAttributesIndex(attributes.getValues(), attributes.getTags());
+            attributesIndex = index;
+        }
+        return index;
     }
     @Override
     public Set<BuildModel> getAvailableBuildModels() {
-        final var buildModels = Stream.<BuildModel>builder();
-        if (getAttributes().isPresent()) buildModels.add(BAZEL_ATTRIBUTES);
-        if (getCriticalPath().isPresent()) buildModels.add(BAZEL_CRITICAL_PATH);
-        return buildModels.build().collect(toUnmodifiableSet());
+        return availableBuildModels;
+    }
+
+    private Set<BuildModel> findAvailableBuildModels() {
+        final var buildModels = EnumSet.noneOf(BuildModel.class);
+        if (isAvailable(build, BuildModelsBazelAttributes.class, this::getAttributes)) buildModels.add(BAZEL_ATTRIBUTES);
+        if (isAvailable(build, BuildModelsBazelCriticalPath.class, this::getCriticalPath)) buildModels.add(BAZEL_CRITICAL_PATH);
+        return unmodifiableSet(buildModels);
     }
 
     @Override
@@ -129,12 +159,12 @@ public final class BazelBuild implements Build {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         BazelBuild that = (BazelBuild) o;
-        return Objects.equals(build, that.build);
+        return equalBuilds(build, that.build);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(build);
+        return buildHashCode(build);
     }
 
     @Override
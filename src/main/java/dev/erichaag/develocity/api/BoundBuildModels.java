@@ -0,0 +1,85 @@
+package dev.erichaag.develocity.api;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static dev.erichaag.develocity.api.LazyBuildModels.buildModelType;
+import static java.util.stream.Collectors.toUnmodifiableMap;
+
+/**
+ * Extracts values from build models that are already bound to their generated
+ * types, by following a JSON pointer through their properties rather than
+ * converting whole models to JSON.
+ */
+final class BoundBuildModels {
+
+    private static final ObjectMapper objectMapper = new JsonMapper();
+    private static final Map<Class<?>, Map<String, AnnotatedMember>> propertiesByType = new ConcurrentHashMap<>();
+
+    private BoundBuildModels() {
+    }
+
+    static Optional<Object> extract(BuildModels models, BuildModel buildModel, JsonPointer pointer) {
+        final var buildModelType = buildModelType(buildModel);
+        var value = properties(BuildModels.class).values().stream()
+                .filter(it -> it.getRawType() == buildModelType)
+                .findFirst()
+                .map(it -> it.getValue(models))
+                .orElse(null);
+        for (var remaining = pointer; value != null && !remaining.matches(); remaining = remaining.tail()) {
+            value = child(value, remaining);
+        }
+        return Optional.ofNullable(value).map(BoundBuildModels::toProjectedValue);
+    }
+
+    private static Object child(Object value, JsonPointer pointer) {
+        if (value instanceof List<?> list) {
+            final var index = pointer.getMatchingIndex();
+            return index >= 0 && index < list.size() ? list.get(index) : null;
+        }
+        if (value instanceof Map<?, ?> map) return map.get(pointer.getMatchingProperty());
+        final var property = properties(value.getClass()).get(pointer.getMatchingProperty());
+        return property == null ? null : property.getValue(value);
+    }
+
+    private static Map<String, AnnotatedMember> properties(Class<?> type) {
+        return propertiesByType.computeIfAbsent(type, __ -> objectMapper.getSerializationConfig()
+                .introspect(objectMapper.constructType(type))
+                .findProperties().stream()
+                .filter(it -> it.getAccessor() != null)
+                .collect(toUnmodifiableMap(BeanPropertyDefinition::getName, BeanPropertyDefinition::getAccessor)));
+    }
+
+    private static Object toProjectedValue(Object value) {
+        // Values are exposed the same way as when extracted from lazily read
+        // build models, see ProjectedBuild
+        return switch (value) {
+            case String it -> it;
+            case Boolean it -> it;
+            case Integer it -> it.longValue();
+            case Long it -> it;
+            case Float it -> it.doubleValue();
+            case Double it -> it;
+            default -> fromTree(objectMapper.valueToTree(value));
+        };
+    }
+
+    private static Object fromTree(JsonNode node) {
+        if (node.isTextual()) return node.asText();
+        if (node.isBoolean()) return node.booleanValue();
+        if (node.isIntegralNumber()) return node.longValue();
+        if (node.isNumber()) return node.doubleValue();
+        if (node.isContainerNode()) return node;
+        return null;
+    }
+
+}
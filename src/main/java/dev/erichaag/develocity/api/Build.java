@@ -7,8 +7,6 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
-import static java.util.stream.Collectors.toUnmodifiableSet;
-
 public sealed interface Build permits GradleBuild, MavenBuild, BazelBuild, SbtBuild {
 
     String getId();
@@ -53,11 +51,12 @@ public sealed interface Build permits GradleBuild, MavenBuild, BazelBuild, SbtBu
     default Optional<String> getValue(String key) {
         final var values = getValues(key);
         if (values.size() > 1) throw new IllegalStateException("Multiple values for key '" + key + "'");
-        return values.stream().findFirst();
+        return values.isEmpty() ? Optional.empty() : Optional.of(values.getFirst());
     }
 
     default Optional<String> getFirstValue(String key) {
-        return getValues(key).stream().findFirst();
+        final var values = getValues(key);
+        return values.isEmpty() ? Optional.empty() : Optional.of(values.getFirst());
     }
 
     ApiBuild getBuild();
@@ -65,10 +64,11 @@ public sealed interface Build permits GradleBuild, MavenBuild, BazelBuild, SbtBu
     Set<BuildModel> getAvailableBuildModels();
 
     default boolean containsAllRelevantBuildModelsFrom(Collection<BuildModel> requiredBuildModels) {
-        return getAvailableBuildModels()
-                .containsAll(requiredBuildModels.stream()
-                        .filter(it -> it.isModelFor(this))
-                        .collect(toUnmodifiableSet()));
+        final var availableBuildModels = getAvailableBuildModels();
+        for (final var buildModel : requiredBuildModels) {
+            if (buildModel.isModelFor(this) && !availableBuildModels.contains(buildModel)) return false;
+        }
+        return true;
     }
 
     static Build from(ApiBuild build) {
@@ -0,0 +1,44 @@
+package dev.erichaag.develocity.api;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableSet;
+
+final class BuildAttributesIndex {
+
+    private final List<Value> values;
+    private final Map<String, List<String>> valuesByName;
+    private final Set<String> tags;
+
+    BuildAttributesIndex(List<BuildAttributesValue> values, List<String> tags) {
+        this.values = values == null ? List.of() : values.stream().map(Value::new).toList();
+        final var valuesByName = new HashMap<String, List<String>>();
+        this.values.forEach(it -> valuesByName.computeIfAbsent(it.name(), __ -> new ArrayList<>()).add(it.value()));
+        valuesByName.replaceAll((__, it) -> unmodifiableList(it));
+        this.valuesByName = valuesByName;
+        this.tags = tags == null ? Set.of() : unmodifiableSet(new HashSet<>(tags));
+    }
+
+    List<Value> values() {
+        return values;
+    }
+
+    List<String> values(String name) {
+        return valuesByName.getOrDefault(name, List.of());
+    }
+
+    boolean hasValue(String name) {
+        return valuesByName.containsKey(name);
+    }
+
+    boolean hasTag(String tag) {
+        return tags.contains(tag);
+    }
+
+}
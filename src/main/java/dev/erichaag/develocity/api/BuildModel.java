@@ -32,7 +32,7 @@ public enum BuildModel {
         this.modelFor = modelFor;
     }
 
-    boolean isModelFor(Build build) {
+    public boolean isModelFor(Build build) {
         return modelFor == null || modelFor.isInstance(build);
     }
 
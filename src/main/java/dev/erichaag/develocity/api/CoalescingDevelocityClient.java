@@ -0,0 +1,91 @@
+package dev.erichaag.develocity.api;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Wraps a client so that concurrent requests for the same build and build
+ * models share one in-flight fetch and one deserialized result.
+ *
+ * <p>Builds are coalesced by ID, whether they are requested on their own or as
+ * part of a {@linkplain #getBuildPage page}: a page only requests the builds
+ * that are not already in flight and waits for the others. Queries for builds
+ * that are not known in advance are passed through as is.
+ */
+public final class CoalescingDevelocityClient implements DevelocityClient {
+
+    private final DevelocityClient develocity;
+    private final SingleFlight<BuildRequest, Optional<Build>> inFlightBuilds = new SingleFlight<>();
+
+    private CoalescingDevelocityClient(DevelocityClient develocity) {
+        this.develocity = develocity;
+    }
+
+    public static CoalescingDevelocityClient wrapping(DevelocityClient develocity) {
+        return new CoalescingDevelocityClient(develocity);
+    }
+
+    @Override
+    public Optional<Build> getBuild(String id, Set<BuildModel> buildModels) {
+        return inFlightBuilds.run(new BuildRequest(id, copyOf(buildModels)), () -> develocity.getBuild(id, buildModels));
+    }
+
+    @Override
+    public List<Build> getBuilds(String query, Integer maxBuilds, String fromBuild, Set<BuildModel> buildModels) {
+        return develocity.getBuilds(query, maxBuilds, fromBuild, buildModels);
+    }
+
+    @Override
+    public List<Build> getBuildPage(String query, String fromBuild, List<String> buildIds, Set<BuildModel> buildModels) {
+        final var models = copyOf(buildModels);
+        final var requests = buildIds.stream().map(it -> new BuildRequest(it, models)).toList();
+        return inFlightBuilds.runAll(requests, claimed -> fetchClaimed(query, fromBuild, requests, claimed, buildModels))
+                .values()
+                .stream()
+                .filter(Objects::nonNull)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    private Map<BuildRequest, Optional<Build>> fetchClaimed(String query, String fromBuild, List<BuildRequest> requests, List<BuildRequest> claimed, Set<BuildModel> buildModels) {
+        // Each run of consecutive claimed builds is fetched as its own page,
+        // starting from the build before it, so builds that are already in
+        // flight are not requested again.
+        final var claimedRequests = new HashSet<>(claimed);
+        final var fetchedBuilds = new HashMap<String, Build>();
+        final var run = new ArrayList<String>();
+        var runFromBuild = fromBuild;
+        for (final var request : requests) {
+            if (claimedRequests.contains(request)) {
+                run.add(request.id());
+                continue;
+            }
+            fetchRun(query, runFromBuild, run, buildModels, fetchedBuilds);
+            runFromBuild = request.id();
+        }
+        fetchRun(query, runFromBuild, run, buildModels, fetchedBuilds);
+        final var builds = new HashMap<BuildRequest, Optional<Build>>();
+        claimed.forEach(it -> builds.put(it, Optional.ofNullable(fetchedBuilds.get(it.id()))));
+        return builds;
+    }
+
+    private void fetchRun(String query, String fromBuild, List<String> run, Set<BuildModel> buildModels, Map<String, Build> fetchedBuilds) {
+        if (run.isEmpty()) return;
+        develocity.getBuildPage(query, fromBuild, List.copyOf(run), buildModels).forEach(it -> fetchedBuilds.put(it.getId(), it));
+        run.clear();
+    }
+
+    private static Set<BuildModel> copyOf(Set<BuildModel> buildModels) {
+        return buildModels == null ? Set.of() : Set.copyOf(buildModels);
+    }
+
+    private record BuildRequest(String id, Set<BuildModel> buildModels) {
+    }
+
+}
@@ -19,6 +19,16 @@ public interface DevelocityClient {
         return getBuilds(query, maxBuilds, fromBuild, Set.of(buildModels));
     }
 
+    /**
+     * Fetches a page of builds that are already known, namely the builds with
+     * the given IDs, which directly follow {@code fromBuild} in the results of
+     * {@code query}. Builds that the server does not return for the page are
+     * left out.
+     */
+    default List<Build> getBuildPage(String query, String fromBuild, List<String> buildIds, Set<BuildModel> buildModels) {
+        return getBuilds(query, buildIds.size(), fromBuild, buildModels);
+    }
+
     static HttpClientDevelocityClientBuilder forServer(URI serverUrl) {
         return new HttpClientDevelocityClientBuilder(serverUrl);
     }
@@ -2,11 +2,10 @@ package dev.erichaag.develocity.api;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Stream;
 
 import static dev.erichaag.develocity.api.AttributesNotPresentException.attributesNotPresent;
 import static dev.erichaag.develocity.api.BuildModel.GRADLE_ARTIFACT_TRANSFORM_EXECUTIONS;
@@ -19,15 +18,22 @@ import static dev.erichaag.develocity.api.BuildModel.GRADLE_NETWORK_ACTIVITY;
 import static dev.erichaag.develocity.api.BuildModel.GRADLE_PLUGINS;
 import static dev.erichaag.develocity.api.BuildModel.GRADLE_PROJECTS;
 import static dev.erichaag.develocity.api.BuildModel.GRADLE_RESOURCE_USAGE;
+import static dev.erichaag.develocity.api.LazyBuildModels.buildHashCode;
+import static dev.erichaag.develocity.api.LazyBuildModels.equalBuilds;
+import static dev.erichaag.develocity.api.LazyBuildModels.isAvailable;
+import static java.util.Collections.unmodifiableSet;
 import static java.util.Optional.ofNullable;
-import static java.util.stream.Collectors.toUnmodifiableSet;
 
 public final class GradleBuild implements Build {
 
     private final ApiBuild build;
+    private final Set<BuildModel> availableBuildModels;
+
+    private volatile BuildAttributesIndex attributesIndex;
 
     GradleBuild(ApiBuild build) {
         this.build = build;
+        this.availableBuildModels = findAvailableBuildModels();
     }
 
     @Override
@@ -102,30 +108,54 @@ public final class GradleBuild implements Build {
                 .orElseThrow(attributesNotPresent("getTags()"));
     }
 
+    @Override
+    public boolean hasTag(String tag) {
+        return getAttributesIndex("getTags()").hasTag(tag);
+    }
+
     @Override
     public List<Value> getValues() {
-        return getAttributes()
-                .orElseThrow(attributesNotPresent("getValues()"))
-                .getValues()
-                .stream()
-                .map(Value::new)
-                .toList();
+        return getAttributesIndex("getValues()").values();
+    }
+
+    @Override
+    public boolean hasValue(String key) {
+        return getAttributesIndex("getValues()").hasValue(key);
+    }
+
+    @Override
+    public List<String> getValues(String key) {
+        return getAttributesIndex("getValues()").values(key);
+    }
+
+    private BuildAttributesIndex getAttributesIndex(String methodName) {
+        var index = attributesIndex;
+        if (index == null) {
+            final var attributes = getAttributes().orElseThrow(attributesNotPresent(methodName));
+            index = new BuildAttributesIndex(attributes.getValues(), attributes.getTags());
+            attributesIndex = index;
+        }
+        return index;
     }
 
     @Override
     public Set<BuildModel> getAvailableBuildModels() {
-        final var buildModels = Stream.<BuildModel>builder();
-        if (getArtifactTransformExecutions().isPresent()) buildModels.add(GRADLE_ARTIFACT_TRANSFORM_EXECUTIONS);
-        if (getAttributes().isPresent()) buildModels.add(GRADLE_ATTRIBUTES);
-        if (getBuildCachePerformance().isPresent()) buildModels.add(GRADLE_BUILD_CACHE_PERFORMANCE);
-        if (getBuildProfileOverview().isPresent()) buildModels.add(GRADLE_BUILD_PROFILE_OVERVIEW);
-        if (getConfigurationCache().isPresent()) buildModels.add(GRADLE_CONFIGURATION_CACHE);
-        if (getDeprecations().isPresent()) buildModels.add(GRADLE_DEPRECATIONS);
-        if (getNetworkActivity().isPresent()) buildModels.add(GRADLE_NETWORK_ACTIVITY);
-        if (getPlugins().isPresent()) buildModels.add(GRADLE_PLUGINS);
-        if (getProjects().isPresent()) buildModels.add(GRADLE_PROJECTS);
-        if (getResourceUsage().isPresent()) buildModels.add(GRADLE_RESOURCE_USAGE);
-        return buildModels.build().collect(toUnmodifiableSet());
+        return availableBuildModels;
+    }
+
+    private Set<BuildModel> findAvailableBuildModels() {
+        final var buildModels = EnumSet.noneOf(BuildModel.class);
+        if (isAvailable(build, BuildModelsGradleArtifactTransformExecutions.class, this::getArtifactTransformExecutions)) buildModels.add(GRADLE_ARTIFACT_TRANSFORM_EXECUTIONS);
+        if (isAvailable(build, BuildModelsGradleAttributes.class, this::getAttributes)) buildModels.add(GRADLE_ATTRIBUTES);
+        if (isAvailable(build, BuildModelsGradleBuildCachePerformance.class, this::getBuildCachePerformance)) buildModels.add(GRADLE_BUILD_CACHE_PERFORMANCE);
+        if (isAvailable(build, BuildModelsGradleBuildProfileOverview.class, this::getBuildProfileOverview)) buildModels.add(GRADLE_BUILD_PROFILE_OVERVIEW);
+        if (isAvailable(build, BuildModelsGradleConfigurationCache.class, this::getConfigurationCache)) buildModels.add(GRADLE_CONFIGURATION_CACHE);
+        if (isAvailable(build, BuildModelsGradleDeprecations.class, this::getDeprecations)) buildModels.add(GRADLE_DEPRECATIONS);
+        if (isAvailable(build, BuildModelsGradleNetworkActivity.class, this::getNetworkActivity)) buildModels.add(GRADLE_NETWORK_ACTIVITY);
+        if (isAvailable(build, BuildModelsGradlePlugins.class, this::getPlugins)) buildModels.add(GRADLE_PLUGINS);
+        if (isAvailable(build, BuildModelsGradleProjects.class, this::getProjects)) buildModels.add(GRADLE_PROJECTS);
+        if (isAvailable(build, BuildModelsGradleResourceUsage.class, this::getResourceUsage)) buildModels.add(GRADLE_RESOURCE_USAGE);
+        return unmodifiableSet(buildModels);
     }
 
     @Override
@@ -200,12 +230,12 @@ public final class GradleBuild implements Build {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         GradleBuild that = (GradleBuild) o;
-        return Objects.equals(build, that.build);
+        return equalBuilds(build, that.build);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(build);
+        return buildHashCode(build);
     }
 
     @Override
@@ -1,60 +1,84 @@
 package dev.erichaag.develocity.api;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.json.JsonMapper;
+import dev.erichaag.develocity.api.RequestHedger.RequestShape;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.net.http.HttpResponse.BodyHandler;
+import java.time.Duration;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
 
 import static com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES;
-import static java.net.http.HttpResponse.BodyHandlers.ofByteArray;
+import static java.net.http.HttpResponse.BodyHandlers.ofInputStream;
 import static java.util.Optional.empty;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 public final class HttpClientDevelocityClient implements DevelocityClient {
 
-    private static final ObjectMapper objectMapper = new JsonMapper().configure(FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final String acceptedEncodings = "gzip, deflate";
 
     private final URI serverUrl;
     private final String accessKey;
     private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final RequestHedger requestHedger;
+    private final ObjectReader buildReader;
+    private final ObjectReader buildsReader;
 
-    HttpClientDevelocityClient(URI serverUrl, String accessKey, HttpClient httpClient) {
+    HttpClientDevelocityClient(URI serverUrl, String accessKey, HttpClient httpClient, Duration requestTimeout, RequestHedger requestHedger, boolean lazyBuildModels, boolean internStrings) {
         this.serverUrl = serverUrl;
         this.accessKey = accessKey;
         this.httpClient = httpClient;
+        this.requestTimeout = requestTimeout;
+        this.requestHedger = requestHedger;
+        final var objectMapper = new JsonMapper().configure(FAIL_ON_UNKNOWN_PROPERTIES, false).registerModule(new DevelocityApiModule());
+        if (lazyBuildModels) objectMapper.registerModule(new LazyBuildModelsModule());
+        if (internStrings) objectMapper.registerModule(new StringInterningModule());
+        this.buildReader = objectMapper.readerFor(ApiBuild.class);
+        this.buildsReader = objectMapper.readerFor(new TypeReference<List<ApiBuild>>() {});
     }
 
     @Override
     public Optional<Build> getBuild(String id, Set<BuildModel> buildModels) {
         final var response = sendRequest("/api/builds/" + id, null, false, null, null, buildModels);
         if (response.statusCode() == 404) {
+            closeBody(response);
             return empty();
         }
-        return Optional.of(Build.from(handleResponse(response, new TypeReference<>() {})));
+        return Optional.of(Build.from(this.<ApiBuild>handleResponse(response, buildReader)));
     }
 
     @Override
     public List<Build> getBuilds(String query, Integer maxBuilds, String fromBuild, Set<BuildModel> buildModels) {
         final var response = sendRequest("/api/builds", query, true, maxBuilds, fromBuild, buildModels);
-        return handleResponse(response, new TypeReference<List<ApiBuild>>() {}).stream().map(Build::from).toList();
+        return this.<List<ApiBuild>>handleResponse(response, buildsReader).stream().map(Build::from).toList();
     }
 
-    private HttpResponse<byte[]> sendRequest(String path, String query, Boolean reverse, Integer maxBuilds, String fromBuild, Set<BuildModel> buildModels) {
+    private HttpResponse<InputStream> sendRequest(String path, String query, Boolean reverse, Integer maxBuilds, String fromBuild, Set<BuildModel> buildModels) {
         final var request = buildRequest(path, query, reverse, maxBuilds, fromBuild, buildModels);
-        return sendRequest(request, ofByteArray());
+        if (requestHedger == null) return sendRequest(request, ofInputStream());
+        return sendHedgedRequest(request, ofInputStream(), new RequestShape(reverse, maxBuilds, buildModels));
     }
 
-    private HttpResponse<byte[]> sendRequest(HttpRequest request, BodyHandler<byte[]> bodyHandler) {
+    private HttpResponse<InputStream> sendRequest(HttpRequest request, BodyHandler<InputStream> bodyHandler) {
         try {
             return httpClient.send(request, bodyHandler);
         } catch (IOException | InterruptedException e) {
@@ -62,9 +86,100 @@ public final class HttpClientDevelocityClient implements DevelocityClient {
         }
     }
 
+    private HttpResponse<InputStream> sendHedgedRequest(HttpRequest request, BodyHandler<InputStream> bodyHandler, RequestShape shape) {
+        final var threshold = requestHedger.threshold(shape);
+        final var start = System.nanoTime();
+        final var primary = httpClient.sendAsync(request, bodyHandler);
+        CompletableFuture<HttpResponse<InputStream>> hedge = null;
+        try {
+            if (threshold.isEmpty()) return recordLatency(shape, start, primary.get());
+            try {
+                return recordLatency(shape, start, primary.get(threshold.get().toNanos(), NANOSECONDS));
+            } catch (TimeoutException e) {
+                if (!requestHedger.tryAcquireHedge()) return recordLatency(shape, start, primary.get());
+                hedge = httpClient.sendAsync(request, bodyHandler);
+                final var response = firstSuccessful(primary, hedge).get();
+                // Only the primary's own latency is recorded, as the hedge's
+                // includes the time spent waiting for the threshold.
+                return primary.isDone() && !primary.isCompletedExceptionally() && primary.join() == response
+                        ? recordLatency(shape, start, response)
+                        : response;
+            }
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            discard(primary);
+            if (hedge != null) discard(hedge);
+            throw new RuntimeException(e);
+        }
+    }
+
+    private HttpResponse<InputStream> recordLatency(RequestShape shape, long start, HttpResponse<InputStream> response) {
+        // Failed and unsuccessful responses are often much faster or slower
+        // than successful ones, so they would skew the hedging threshold.
+        if (isSuccessful(response)) requestHedger.record(shape, System.nanoTime() - start);
+        return response;
+    }
+
+    /**
+     * Returns the response of whichever request succeeds first, closing the
+     * body of the other and cancelling it if it is still in flight. Only a 2xx
+     * response wins outright; otherwise the first completed response is
+     * returned once both requests have completed, or the first failure if
+     * neither produced a response.
+     */
+    static CompletableFuture<HttpResponse<InputStream>> firstSuccessful(CompletableFuture<HttpResponse<InputStream>> primary, CompletableFuture<HttpResponse<InputStream>> hedge) {
+        final var winner = new CompletableFuture<HttpResponse<InputStream>>();
+        final var unsuccessfulResponse = new AtomicReference<HttpResponse<InputStream>>();
+        final var failure = new AtomicReference<Throwable>();
+        final var remaining = new AtomicInteger(2);
+        for (final var candidate : List.of(primary, hedge)) {
+            candidate.whenComplete((response, error) -> {
+                if (response == null) {
+                    failure.compareAndSet(null, error);
+                } else if (isSuccessful(response)) {
+                    if (!winner.complete(response)) closeBody(response);
+                } else if (!unsuccessfulResponse.compareAndSet(null, response)) {
+                    closeBody(response);
+                }
+                if (remaining.decrementAndGet() > 0) return;
+                final var fallback = unsuccessfulResponse.getAndSet(null);
+                if (fallback == null) {
+                    winner.completeExceptionally(failure.get());
+                } else if (!winner.complete(fallback)) {
+                    closeBody(fallback);
+                }
+            });
+        }
+        winner.whenComplete((__, ___) -> {
+            primary.cancel(true);
+            hedge.cancel(true);
+        });
+        return winner;
+    }
+
+    private static boolean isSuccessful(HttpResponse<?> response) {
+        return response.statusCode() / 100 == 2;
+    }
+
+    /**
+     * Cancels a request sent by the client, closing the body of its response
+     * if it has already arrived. Hedged requests are discarded one by one
+     * rather than through the future combining them, whose cancellation would
+     * leave a response that already arrived unclosed.
+     */
+    static void discard(CompletableFuture<HttpResponse<InputStream>> response) {
+        response.whenComplete((it, __) -> {
+            if (it != null) closeBody(it);
+        });
+        response.cancel(true);
+    }
+
     private HttpRequest buildRequest(String path, String query, Boolean reverse, Integer maxBuilds, String fromBuild, Set<BuildModel> buildModels) {
         final var request = HttpRequest.newBuilder().uri(buildRequestUri(path, query, reverse, maxBuilds, fromBuild, buildModels));
+        request.header("Accept-Encoding", acceptedEncodings);
         if (accessKey != null) request.header("Authorization", "Bearer " + accessKey);
+        if (requestTimeout != null) request.timeout(requestTimeout);
         return request.build();
     }
 
@@ -88,19 +203,43 @@ public final class HttpClientDevelocityClient implements DevelocityClient {
         }
     }
 
-    private <T> T handleResponse(HttpResponse<byte[]> response, TypeReference<T> typeReference) {
+    private <T> T handleResponse(HttpResponse<InputStream> response, ObjectReader reader) {
         if (response.statusCode() == 200) {
-            return readValue(response.body(), typeReference);
+            return readValue(response, reader);
         }
+        closeBody(response);
         throw new DevelocityClientException(response.request().uri(), response.statusCode(), response.headers().map());
     }
 
-    private <T> T readValue(byte[] value, TypeReference<T> typeReference) {
-        try {
-            return objectMapper.readValue(value, typeReference);
+    private <T> T readValue(HttpResponse<InputStream> response, ObjectReader reader) {
+        try (final var body = decodeBody(response)) {
+            return reader.readValue(body);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
+    private static InputStream decodeBody(HttpResponse<InputStream> response) throws IOException {
+        final var contentEncoding = response.headers().firstValue("Content-Encoding").orElse("identity");
+        try {
+            return switch (contentEncoding.trim().toLowerCase()) {
+                case "gzip", "x-gzip" -> new GZIPInputStream(response.body(), 65_536);
+                case "deflate" -> new InflaterInputStream(response.body());
+                case "identity" -> response.body();
+                default -> throw new IOException("Unsupported content encoding '" + contentEncoding + "' from " + response.request().uri());
+            };
+        } catch (IOException | RuntimeException e) {
+            // the body is only closed by the caller once it has been wrapped in a decoder
+            closeBody(response);
+            throw e;
+        }
+    }
+
+    private static void closeBody(HttpResponse<InputStream> response) {
+        try {
+            response.body().close();
+        } catch (IOException ignored) {
+        }
+    }
+
 }
@@ -1,7 +1,10 @@
 package dev.erichaag.develocity.api;
 
+import java.net.ProxySelector;
 import java.net.URI;
 import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executor;
 
 import static dev.erichaag.develocity.api.AccessKeyProvider.lookupAccessKey;
 
@@ -11,6 +14,10 @@ public final class HttpClientDevelocityClientBuilder {
     private final HttpClient.Builder httpClientBuilder = HttpClient.newBuilder();
 
     private boolean useAnonymousAccess = false;
+    private boolean lazyBuildModels = false;
+    private boolean internStrings = false;
+    private Duration requestTimeout;
+    private RequestHedger requestHedger;
 
     HttpClientDevelocityClientBuilder(URI serverUrl) {
         this.serverUrl = serverUrl;
@@ -18,7 +25,11 @@ public final class HttpClientDevelocityClientBuilder {
 
     public HttpClientDevelocityClient build() {
         final var accessKey = useAnonymousAccess ? null : lookupAccessKey(serverUrl);
-        return new HttpClientDevelocityClient(serverUrl, accessKey, httpClientBuilder.build());
+        return new HttpClientDevelocityClient(serverUrl, accessKey, buildHttpClient(), requestTimeout, requestHedger, lazyBuildModels, internStrings);
+    }
+
+    HttpClient buildHttpClient() {
+        return httpClientBuilder.build();
     }
 
     public HttpClientDevelocityClientBuilder withAnonymousAccess() {
@@ -31,4 +42,50 @@ public final class HttpClientDevelocityClientBuilder {
         return this;
     }
 
+    /**
+     * Sets the preferred HTTP version. {@link HttpClient.Version#HTTP_2} is
+     * already the default, and concurrent requests are only multiplexed over
+     * one connection if the server negotiates HTTP/2, which requires HTTPS.
+     */
+    public HttpClientDevelocityClientBuilder withHttpVersion(HttpClient.Version version) {
+        this.httpClientBuilder.version(version);
+        return this;
+    }
+
+    public HttpClientDevelocityClientBuilder withConnectTimeout(Duration connectTimeout) {
+        this.httpClientBuilder.connectTimeout(connectTimeout);
+        return this;
+    }
+
+    public HttpClientDevelocityClientBuilder withRequestTimeout(Duration requestTimeout) {
+        if (requestTimeout.isNegative() || requestTimeout.isZero()) throw new IllegalArgumentException("Request timeout must be greater than 0");
+        this.requestTimeout = requestTimeout;
+        return this;
+    }
+
+    public HttpClientDevelocityClientBuilder withHedging(double percentile, double budget) {
+        this.requestHedger = new RequestHedger(percentile, budget);
+        return this;
+    }
+
+    public HttpClientDevelocityClientBuilder withLazyBuildModels() {
+        this.lazyBuildModels = true;
+        return this;
+    }
+
+    public HttpClientDevelocityClientBuilder withStringInterning() {
+        this.internStrings = true;
+        return this;
+    }
+
+    public HttpClientDevelocityClientBuilder withExecutor(Executor executor) {
+        this.httpClientBuilder.executor(executor);
+        return this;
+    }
+
+    public HttpClientDevelocityClientBuilder withProxy(ProxySelector proxySelector) {
+        this.httpClientBuilder.proxy(proxySelector);
+        return this;
+    }
+
 }
@@ -0,0 +1,286 @@
+package dev.erichaag.develocity.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.filter.FilteringParserDelegate;
+import com.fasterxml.jackson.core.filter.JsonPointerBasedFilter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static com.fasterxml.jackson.core.JsonToken.FIELD_NAME;
+import static com.fasterxml.jackson.core.filter.TokenFilter.Inclusion.ONLY_INCLUDE_ALL;
+import static com.fasterxml.jackson.core.JsonToken.VALUE_NULL;
+import static com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES;
+
+final class LazyBuildModels extends BuildModels {
+
+    private static final ObjectMapper objectMapper = new JsonMapper().configure(FAIL_ON_UNKNOWN_PROPERTIES, false).registerModule(new DevelocityApiModule());
+
+    private final Map<Class<?>, TokenBuffer> buffers;
+    private final Map<Class<?>, String> propertyNames;
+    private final ObjectCodec codec;
+    private final Map<Class<?>, Object> bound = new ConcurrentHashMap<>();
+
+    LazyBuildModels(Map<Class<?>, TokenBuffer> buffers, Map<Class<?>, String> propertyNames, ObjectCodec codec) {
+        this.buffers = buffers;
+        this.propertyNames = propertyNames;
+        this.codec = codec == null ? objectMapper : codec;
+    }
+
+    static boolean isAvailable(ApiBuild build, Class<?> buildModelType, Supplier<Optional<?>> buildModel) {
+        if (build.getModels() instanceof LazyBuildModels models) return models.isAvailable(buildModelType);
+        return buildModel.get().isPresent();
+    }
+
+    /**
+     * Compares two builds, only binding build models if exactly one of them
+     * is read lazily. Lazily read build models are compared as JSON trees.
+     */
+    static boolean equalBuilds(ApiBuild build, ApiBuild other) {
+        if (build.getModels() instanceof LazyBuildModels == other.getModels() instanceof LazyBuildModels) return Objects.equals(build, other);
+        return Objects.equals(materialized(build), materialized(other));
+    }
+
+    /**
+     * Returns a hash code consistent with {@link #equalBuilds}, which builds
+     * read lazily or not share as it does not depend on their build models.
+     */
+    static int buildHashCode(ApiBuild build) {
+        return Objects.hashCode(build.getId());
+    }
+
+    private static ApiBuild materialized(ApiBuild build) {
+        if (!(build.getModels() instanceof LazyBuildModels)) return build;
+        return objectMapper.convertValue(build, ApiBuild.class);
+    }
+
+    @Override
+    public BuildModelsBazelAttributes getBazelAttributes() {
+        return bind(BuildModelsBazelAttributes.class);
+    }
+
+    @Override
+    public BuildModelsBazelCriticalPath getBazelCriticalPath() {
+        return bind(BuildModelsBazelCriticalPath.class);
+    }
+
+    @Override
+    public BuildModelsGradleArtifactTransformExecutions getGradleArtifactTransformExecutions() {
+        return bind(BuildModelsGradleArtifactTransformExecutions.class);
+    }
+
+    @Override
+    public BuildModelsGradleAttributes getGradleAttributes() {
+        return bind(BuildModelsGradleAttributes.class);
+    }
+
+    @Override
+    public BuildModelsGradleBuildCachePerformance getGradleBuildCachePerformance() {
+        return bind(BuildModelsGradleBuildCachePerformance.class);
+    }
+
+    @Override
+    public BuildModelsGradleBuildProfileOverview getGradleBuildProfileOverview() {
+        return bind(BuildModelsGradleBuildProfileOverview.class);
+    }
+
+    @Override
+    public BuildModelsGradleConfigurationCache getGradleConfigurationCache() {
+        return bind(BuildModelsGradleConfigurationCache.class);
+    }
+
+    @Override
+    public BuildModelsGradleDeprecations getGradleDeprecations() {
+        return bind(BuildModelsGradleDeprecations.class);
+    }
+
+    @Override
+    public BuildModelsGradleNetworkActivity getGradleNetworkActivity() {
+        return bind(BuildModelsGradleNetworkActivity.class);
+    }
+
+    @Override
+    public BuildModelsGradlePlugins getGradlePlugins() {
+        return bind(BuildModelsGradlePlugins.class);
+    }
+
+    @Override
+    public BuildModelsGradleProjects getGradleProjects() {
+        return bind(BuildModelsGradleProjects.class);
+    }
+
+    @Override
+    public BuildModelsGradleResourceUsage getGradleResourceUsage() {
+        return bind(BuildModelsGradleResourceUsage.class);
+    }
+
+    @Override
+    public BuildModelsMavenAttributes getMavenAttributes() {
+        return bind(BuildModelsMavenAttributes.class);
+    }
+
+    @Override
+    public BuildModelsMavenBuildCachePerformance getMavenBuildCachePerformance() {
+        return bind(BuildModelsMavenBuildCachePerformance.class);
+    }
+
+    @Override
+    public BuildModelsMavenBuildProfileOverview getMavenBuildProfileOverview() {
+        return bind(BuildModelsMavenBuildProfileOverview.class);
+    }
+
+    @Override
+    public BuildModelsMavenDependencyResolution getMavenDependencyResolution() {
+        return bind(BuildModelsMavenDependencyResolution.class);
+    }
+
+    @Override
+    public BuildModelsMavenModules getMavenModules() {
+        return bind(BuildModelsMavenModules.class);
+    }
+
+    @Override
+    public BuildModelsMavenPlugins getMavenPlugins() {
+        return bind(BuildModelsMavenPlugins.class);
+    }
+
+    @Override
+    public BuildModelsMavenResourceUsage getMavenResourceUsage() {
+        return bind(BuildModelsMavenResourceUsage.class);
+    }
+
+    Optional<Object> extract(BuildModel buildModel, JsonPointer pointer) {
+        final var buffer = buffers.get(buildModelType(buildModel));
+        if (buffer == null) return Optional.empty();
+        try (final var parser = new FilteringParserDelegate(buffer.asParser(objectMapper), new JsonPointerBasedFilter(pointer), ONLY_INCLUDE_ALL, false)) {
+            final var token = parser.nextToken();
+            if (token == null) return Optional.empty();
+            return Optional.ofNullable(switch (token) {
+                case VALUE_STRING -> parser.getText();
+                case VALUE_NUMBER_INT -> parser.getLongValue();
+                case VALUE_NUMBER_FLOAT -> parser.getDoubleValue();
+                case VALUE_TRUE, VALUE_FALSE -> parser.getBooleanValue();
+                case START_OBJECT, START_ARRAY -> parser.<JsonNode>readValueAsTree();
+                default -> null;
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static Class<?> buildModelType(BuildModel buildModel) {
+        return switch (buildModel) {
+            case ALL_MODELS -> throw new IllegalArgumentException("Unexpected build model: " + buildModel);
+            case BAZEL_ATTRIBUTES -> BuildModelsBazelAttributes.class;
+            case BAZEL_CRITICAL_PATH -> BuildModelsBazelCriticalPath.class;
+            case GRADLE_ARTIFACT_TRANSFORM_EXECUTIONS -> BuildModelsGradleArtifactTransformExecutions.class;
+            case GRADLE_ATTRIBUTES -> BuildModelsGradleAttributes.class;
+            case GRADLE_BUILD_CACHE_PERFORMANCE -> BuildModelsGradleBuildCachePerformance.class;
+            case GRADLE_BUILD_PROFILE_OVERVIEW -> BuildModelsGradleBuildProfileOverview.class;
+            case GRADLE_CONFIGURATION_CACHE -> BuildModelsGradleConfigurationCache.class;
+            case GRADLE_DEPRECATIONS -> BuildModelsGradleDeprecations.class;
+            case GRADLE_NETWORK_ACTIVITY -> BuildModelsGradleNetworkActivity.class;
+            case GRADLE_PLUGINS -> BuildModelsGradlePlugins.class;
+            case GRADLE_PROJECTS -> BuildModelsGradleProjects.class;
+            case GRADLE_RESOURCE_USAGE -> BuildModelsGradleResourceUsage.class;
+            case MAVEN_ATTRIBUTES -> BuildModelsMavenAttributes.class;
+            case MAVEN_BUILD_CACHE_PERFORMANCE -> BuildModelsMavenBuildCachePerformance.class;
+            case MAVEN_BUILD_PROFILE_OVERVIEW -> BuildModelsMavenBuildProfileOverview.class;
+            case MAVEN_DEPENDENCY_RESOLUTION -> BuildModelsMavenDependencyResolution.class;
+            case MAVEN_MODULES -> BuildModelsMavenModules.class;
+            case MAVEN_PLUGINS -> BuildModelsMavenPlugins.class;
+            case MAVEN_RESOURCE_USAGE -> BuildModelsMavenResourceUsage.class;
+        };
+    }
+
+    private boolean isAvailable(Class<?> buildModelType) {
+        final var buffer = buffers.get(buildModelType);
+        if (buffer == null) return false;
+        try (final var parser = buffer.asParser()) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) return false;
+            while (parser.nextToken() == FIELD_NAME) {
+                final var name = parser.currentName();
+                if (parser.nextToken() != VALUE_NULL && name.equals("model")) return true;
+                parser.skipChildren();
+            }
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> T bind(Class<T> buildModelType) {
+        final var buffer = buffers.get(buildModelType);
+        if (buffer == null) return null;
+        return buildModelType.cast(bound.computeIfAbsent(buildModelType, __ -> read(buffer, buildModelType)));
+    }
+
+    private Object read(TokenBuffer buffer, Class<?> buildModelType) {
+        try (final JsonParser parser = buffer.asParser(codec)) {
+            return codec.readValue(parser, buildModelType);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the build models as they were read, without binding them.
+     */
+    void write(JsonGenerator generator) throws IOException {
+        generator.writeStartObject(this);
+        for (final var entry : buffers.entrySet()) {
+            generator.writeFieldName(propertyNames.get(entry.getKey()));
+            entry.getValue().serialize(generator);
+        }
+        generator.writeEndObject();
+    }
+
+    private Map<String, JsonNode> trees() {
+        final var trees = new HashMap<String, JsonNode>();
+        for (final var entry : buffers.entrySet()) {
+            try (final var parser = entry.getValue().asParser(objectMapper)) {
+                trees.put(propertyNames.get(entry.getKey()), parser.readValueAsTree());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return trees;
+    }
+
+    // Lazily read build models are only equal to other lazily read build
+    // models, as generated build models are only equal to their own class.
+    // Both are compared as JSON trees, which neither binds the build models
+    // nor depends on the order of their fields.
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LazyBuildModels that)) return false;
+        return trees().equals(that.trees());
+    }
+
+    @Override
+    public int hashCode() {
+        return trees().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "LazyBuildModels" + trees();
+    }
+
+}
@@ -0,0 +1,97 @@
+package dev.erichaag.develocity.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.fasterxml.jackson.core.JsonToken.FIELD_NAME;
+import static com.fasterxml.jackson.core.JsonToken.START_OBJECT;
+import static java.util.stream.Collectors.toUnmodifiableMap;
+
+/**
+ * A Jackson module that defers binding build models until they are accessed.
+ *
+ * <p>With this module registered, each build model is kept as a buffer of
+ * JSON tokens when a build is read, and is only bound to its generated type
+ * the first time it is accessed, for example through
+ * {@link GradleBuild#getBuildProfileOverview()}. Listeners that only use some
+ * of the requested build models skip the cost of binding the others.
+ *
+ * <p>Builds read this way are written back from their buffered tokens, so
+ * saving them to a cache does not bind any build model either.
+ */
+public final class LazyBuildModelsModule extends SimpleModule {
+
+    public LazyBuildModelsModule() {
+        super("LazyBuildModelsModule");
+        addDeserializer(BuildModels.class, new LazyBuildModelsDeserializer());
+        addSerializer(LazyBuildModels.class, new LazyBuildModelsSerializer());
+    }
+
+    private static final class LazyBuildModelsDeserializer extends StdDeserializer<BuildModels> {
+
+        private volatile Map<String, Class<?>> buildModelTypes;
+        private volatile Map<Class<?>, String> propertyNames;
+
+        LazyBuildModelsDeserializer() {
+            super(BuildModels.class);
+        }
+
+        @Override
+        public BuildModels deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            final var buildModelTypes = buildModelTypes(context);
+            final var buffers = new LinkedHashMap<Class<?>, TokenBuffer>();
+            var token = parser.currentToken();
+            if (token == START_OBJECT) token = parser.nextToken();
+            for (; token == FIELD_NAME; token = parser.nextToken()) {
+                final var buildModelType = buildModelTypes.get(parser.currentName());
+                parser.nextToken();
+                if (buildModelType == null) {
+                    parser.skipChildren();
+                } else {
+                    buffers.put(buildModelType, context.bufferAsCopyOfValue(parser));
+                }
+            }
+            return new LazyBuildModels(buffers, propertyNames, parser.getCodec());
+        }
+
+        private Map<String, Class<?>> buildModelTypes(DeserializationContext context) {
+            var types = buildModelTypes;
+            if (types == null) {
+                types = context.getConfig()
+                        .introspect(context.constructType(BuildModels.class))
+                        .findProperties()
+                        .stream()
+                        .collect(toUnmodifiableMap(BeanPropertyDefinition::getName, BeanPropertyDefinition::getRawPrimaryType));
+                propertyNames = types.entrySet().stream().collect(toUnmodifiableMap(Map.Entry::getValue, Map.Entry::getKey));
+                buildModelTypes = types;
+            }
+            return types;
+        }
+
+    }
+
+    private static final class LazyBuildModelsSerializer extends StdSerializer<LazyBuildModels> {
+
+        LazyBuildModelsSerializer() {
+            super(LazyBuildModels.class);
+        }
+
+        @Override
+        public void serialize(LazyBuildModels value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            value.write(generator);
+        }
+
+    }
+
+}
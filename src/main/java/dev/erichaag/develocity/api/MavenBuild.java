@@ -2,11 +2,10 @@ package dev.erichaag.develocity.api;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Stream;
 
 import static dev.erichaag.develocity.api.AttributesNotPresentException.attributesNotPresent;
 import static dev.erichaag.develocity.api.BuildModel.MAVEN_ATTRIBUTES;
@@ -16,15 +15,22 @@ import static dev.erichaag.develocity.api.BuildModel.MAVEN_DEPENDENCY_RESOLUTION
 import static dev.erichaag.develocity.api.BuildModel.MAVEN_MODULES;
 import static dev.erichaag.develocity.api.BuildModel.MAVEN_PLUGINS;
 import static dev.erichaag.develocity.api.BuildModel.MAVEN_RESOURCE_USAGE;
+import static dev.erichaag.develocity.api.LazyBuildModels.buildHashCode;
+import static dev.erichaag.develocity.api.LazyBuildModels.equalBuilds;
+import static dev.erichaag.develocity.api.LazyBuildModels.isAvailable;
+import static java.util.Collections.unmodifiableSet;
 import static java.util.Optional.ofNullable;
-import static java.util.stream.Collectors.toUnmodifiableSet;
 
 public final class MavenBuild implements Build {
 
     private final ApiBuild build;
+    private final Set<BuildModel> availableBuildModels;
+
+    private volatile BuildAttributesIndex attributesIndex;
 
     MavenBuild(ApiBuild build) {
         this.build = build;
+        this.availableBuildModels = findAvailableBuildModels();
     }
 
     @Override
@@ -99,27 +105,51 @@ public final class MavenBuild implements Build {
                 .orElseThrow(attributesNotPresent("getTags()"));
     }
 
+    @Override
+    public boolean hasTag(String tag) {
+        return getAttributesIndex("getTags()").hasTag(tag);
+    }
+
     @Override
     public List<Value> getValues() {
-        return getAttributes()
-                .orElseThrow(attributesNotPresent("getValues()"))
-                .getValues()
-                .stream()
-                .map(Value::new)
-                .toList();
+        return getAttributesIndex("getValues()").values();
+    }
+
+    @Override
+    public boolean hasValue(String key) {
+        return getAttributesIndex("getValues()").hasValue(key);
+    }
+
+    @Override
+    public List<String> getValues(String key) {
+        return getAttributesIndex("getValues()").values(key);
+    }
+
+    private BuildAttributesIndex getAttributesIndex(String methodName) {
+        var index = attributesIndex;
+        if (index == null) {
+            final var attributes = getAttributes().orElseThrow(attributesNotPresent(methodName));
+            index = new BuildAttributesIndex(attributes.getValues(), attributes.getTags());
+            attributesIndex = index;
+        }
+        return index;
     }
 
     @Override
     public Set<BuildModel> getAvailableBuildModels() {
-        final var buildModels = Stream.<BuildModel>builder();
-        if (getAttributes().isPresent()) buildModels.add(MAVEN_ATTRIBUTES);
-        if (getBuildCachePerformance().isPresent()) buildModels.add(MAVEN_BUILD_CACHE_PERFORMANCE);
-        if (getBuildProfileOverview().isPresent()) buildModels.add(MAVEN_BUILD_PROFILE_OVERVIEW);
-        if (getDependencyResolution().isPresent()) buildModels.add(MAVEN_DEPENDENCY_RESOLUTION);
-        if (getModules().isPresent()) buildModels.add(MAVEN_MODULES);
-        if (getPlugins().isPresent()) buildModels.add(MAVEN_PLUGINS);
-        if (getResourceUsage().isPresent()) buildModels.add(MAVEN_RESOURCE_USAGE);
-        return buildModels.build().collect(toUnmodifiableSet());
+        return availableBuildModels;
+    }
+
+    private Set<BuildModel> findAvailableBuildModels() {
+        final var buildModels = EnumSet.noneOf(BuildModel.class);
+        if (isAvailable(build, BuildModelsMavenAttributes.class, this::getAttributes)) buildModels.add(MAVEN_ATTRIBUTES);
+        if (isAvailable(build, BuildModelsMavenBuildCachePerformance.class, this::getBuildCachePerformance)) buildModels.add(MAVEN_BUILD_CACHE_PERFORMANCE);
+        if (isAvailable(build, BuildModelsMavenBuildProfileOverview.class, this::getBuildProfileOverview)) buildModels.add(MAVEN_BUILD_PROFILE_OVERVIEW);
+        if (isAvailable(build, BuildModelsMavenDependencyResolution.class, this::getDependencyResolution)) buildModels.add(MAVEN_DEPENDENCY_RESOLUTION);
+        if (isAvailable(build, BuildModelsMavenModules.class, this::getModules)) buildModels.add(MAVEN_MODULES);
+        if (isAvailable(build, BuildModelsMavenPlugins.class, this::getPlugins)) buildModels.add(MAVEN_PLUGINS);
+        if (isAvailable(build, BuildModelsMavenResourceUsage.class, this::getResourceUsage)) buildModels.add(MAVEN_RESOURCE_USAGE);
+        return unmodifiableSet(buildModels);
     }
 
     @Override
@@ -174,12 +204,12 @@ public final class MavenBuild implements Build {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         MavenBuild that = (MavenBuild) o;
-        return Objects.equals(build, that.build);
+        return equalBuilds(build, that.build);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(build);
+        return buildHashCode(build);
     }
 
     @Override
@@ -0,0 +1,81 @@
+package dev.erichaag.develocity.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static com.fasterxml.jackson.core.JsonToken.VALUE_NULL;
+import static java.util.stream.Collectors.toUnmodifiableMap;
+
+/**
+ * Support for the {@code *Codec} classes generated from the Develocity API
+ * specification by the {@code conventions.develocity-api} plugin.
+ */
+final class ModelCodecs {
+
+    private ModelCodecs() {
+    }
+
+    static Map<String, JavaType> propertyTypes(DeserializationContext context, Class<?> type) {
+        return context.getConfig()
+                .introspect(context.constructType(type))
+                .findProperties()
+                .stream()
+                .collect(toUnmodifiableMap(BeanPropertyDefinition::getName, BeanPropertyDefinition::getPrimaryType));
+    }
+
+    static Map<String, JavaType> propertyTypes(SerializerProvider provider, Class<?> type) {
+        return provider.getConfig()
+                .introspect(provider.constructType(type))
+                .findProperties()
+                .stream()
+                .collect(toUnmodifiableMap(BeanPropertyDefinition::getName, BeanPropertyDefinition::getPrimaryType));
+    }
+
+    static JsonDeserializer<Object> deserializerFor(DeserializationContext context, Map<String, JavaType> propertyTypes, String name) throws JsonMappingException {
+        final var type = propertyTypes.get(name);
+        if (type == null) throw JsonMappingException.from(context, "No property named '" + name + "'");
+        return context.findContextualValueDeserializer(type, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T read(JsonParser parser, DeserializationContext context, JsonDeserializer<Object> deserializer) throws IOException {
+        if (parser.currentToken() == VALUE_NULL) return (T) deserializer.getNullValue(context);
+        return (T) deserializer.deserialize(parser, context);
+    }
+
+    /**
+     * Returns the serializer for the declared type of the named property, or
+     * {@code null} if only the runtime type of its values can tell.
+     */
+    static JsonSerializer<Object> serializerFor(SerializerProvider provider, Map<String, JavaType> propertyTypes, String name) throws JsonMappingException {
+        final var type = propertyTypes.get(name);
+        if (type == null) throw JsonMappingException.from(provider, "No property named '" + name + "'");
+        if (!type.isContainerType() && (type.isJavaLangObject() || type.isAbstract())) return null;
+        return provider.findValueSerializer(type, null);
+    }
+
+    static void write(JsonGenerator generator, SerializerProvider provider, String name, Object value, JsonSerializer<Object> serializer) throws IOException {
+        if (value == null) return;
+        generator.writeFieldName(name);
+        if (value instanceof LazyBuildModels lazyBuildModels) {
+            // Written as read rather than by the codec of the declared type,
+            // which would bind every build model
+            lazyBuildModels.write(generator);
+        } else if (serializer == null) {
+            provider.defaultSerializeValue(value, generator);
+        } else {
+            serializer.serialize(value, generator, provider);
+        }
+    }
+
+}
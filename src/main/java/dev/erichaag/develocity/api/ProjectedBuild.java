@@ -0,0 +1,32 @@
+package dev.erichaag.develocity.api;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The fields extracted from a build by a {@link Projection}.
+ *
+ * <p>Scalar values are exposed as {@link String}, {@link Long},
+ * {@link Double} or {@link Boolean}. Objects and arrays are exposed as
+ * Jackson {@code JsonNode} trees.
+ *
+ * @param id the ID of the build
+ * @param buildToolType the type of build tool, for example {@code gradle}
+ * @param values the extracted values keyed by field name
+ */
+public record ProjectedBuild(String id, String buildToolType, Map<String, Object> values) {
+
+    /**
+     * Returns the value of the given field, if it was extracted.
+     *
+     * @param name the name of the field
+     * @param type the expected type of the value
+     * @param <T> the expected type of the value
+     * @return the value, or empty if the field was not extracted
+     * @throws ClassCastException if the value is not of the expected type
+     */
+    public <T> Optional<T> get(String name, Class<T> type) {
+        return Optional.ofNullable(values.get(name)).map(type::cast);
+    }
+
+}
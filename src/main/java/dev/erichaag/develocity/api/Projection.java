@@ -0,0 +1,141 @@
+package dev.erichaag.develocity.api;
+
+import com.fasterxml.jackson.core.JsonPointer;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Collections.unmodifiableSet;
+
+/**
+ * A set of named fields to extract from the build models of a build.
+ *
+ * <p>Each field is addressed by a JSON pointer relative to the model of a
+ * {@link BuildModel}, for example {@code /buildDuration} for
+ * {@link BuildModel#GRADLE_ATTRIBUTES}. When a build was read with the
+ * {@link LazyBuildModelsModule}, fields are extracted by streaming over the
+ * buffered JSON tokens of each model, without binding the model to its
+ * generated type. Otherwise, fields are read from the bound models by
+ * following the pointer through their properties, so only the extracted
+ * values are converted.
+ *
+ * @see ProjectedBuild
+ */
+public final class Projection {
+
+    private static final JsonPointer modelPointer = JsonPointer.compile("/model");
+
+    private final List<Field> fields;
+    private final Set<BuildModel> buildModels;
+
+    private Projection(List<Field> fields) {
+        this.fields = List.copyOf(fields);
+        final var buildModels = EnumSet.noneOf(BuildModel.class);
+        fields.forEach(it -> buildModels.add(it.buildModel()));
+        this.buildModels = unmodifiableSet(buildModels);
+    }
+
+    /**
+     * Creates a new {@link Builder} to construct a {@link Projection}.
+     *
+     * @return a new builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the build models the fields of this projection are extracted
+     * from.
+     *
+     * @return the build models required by this projection
+     */
+    public Set<BuildModel> getBuildModels() {
+        return buildModels;
+    }
+
+    /**
+     * Returns whether any field of this projection can be extracted from the
+     * given build, based on its build tool.
+     *
+     * @param build the build
+     * @return {@code true} if at least one field applies to the build
+     */
+    public boolean appliesTo(Build build) {
+        return buildModels.stream().anyMatch(it -> it.isModelFor(build));
+    }
+
+    /**
+     * Extracts the fields of this projection from the given build.
+     *
+     * <p>Fields whose build model is not available, whose pointer does not
+     * match, or whose value is {@code null} are absent from the result.
+     *
+     * @param build the build to extract the fields from
+     * @return the extracted fields
+     */
+    public ProjectedBuild project(Build build) {
+        final var models = build.getBuild().getModels();
+        final var values = new LinkedHashMap<String, Object>();
+        if (models != null) {
+            for (final var field : fields) {
+                if (!field.buildModel().isModelFor(build)) continue;
+                extract(models, field).ifPresent(it -> values.put(field.name(), it));
+            }
+        }
+        return new ProjectedBuild(build.getId(), build.getBuild().getBuildToolType(), unmodifiableMap(values));
+    }
+
+    private static Optional<Object> extract(BuildModels models, Field field) {
+        if (models instanceof LazyBuildModels lazyModels) return lazyModels.extract(field.buildModel(), field.pointer());
+        return BoundBuildModels.extract(models, field.buildModel(), field.pointer());
+    }
+
+    private record Field(String name, BuildModel buildModel, JsonPointer pointer) {
+    }
+
+    /**
+     * A builder for {@link Projection}.
+     */
+    public static final class Builder {
+
+        private final List<Field> fields = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a field to extract from the given build model.
+         *
+         * @param name the name of the field in the projected build
+         * @param buildModel the build model to extract the field from
+         * @param pointer a JSON pointer relative to the model, for example
+         *                {@code /buildDuration}
+         * @return this builder instance for fluent configuration
+         * @throws IllegalArgumentException if the pointer is invalid or the
+         *                                  build model is
+         *                                  {@link BuildModel#ALL_MODELS}
+         */
+        public Builder field(String name, BuildModel buildModel, String pointer) {
+            if (buildModel == BuildModel.ALL_MODELS) throw new IllegalArgumentException("Fields must be extracted from a specific build model");
+            fields.add(new Field(name, buildModel, modelPointer.append(JsonPointer.compile(pointer))));
+            return this;
+        }
+
+        /**
+         * Builds the {@link Projection}.
+         *
+         * @return the projection
+         */
+        public Projection build() {
+            return new Projection(fields);
+        }
+
+    }
+
+}
@@ -0,0 +1,73 @@
+package dev.erichaag.develocity.api;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Optional.empty;
+
+final class RequestHedger {
+
+    private static final int sampleSize = 128;
+    private static final int minimumSamples = 20;
+
+    private final double percentile;
+    private final double budget;
+    private final Map<RequestShape, LatencyWindow> latencyWindows = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+
+    RequestHedger(double percentile, double budget) {
+        if (percentile <= 0 || percentile >= 1) throw new IllegalArgumentException("Hedging percentile must be between 0 (exclusive) and 1 (exclusive)");
+        if (budget <= 0 || budget > 1) throw new IllegalArgumentException("Hedging budget must be between 0 (exclusive) and 1 (inclusive)");
+        this.percentile = percentile;
+        this.budget = budget;
+    }
+
+    Optional<Duration> threshold(RequestShape requestShape) {
+        requests.incrementAndGet();
+        return latencyWindows.computeIfAbsent(requestShape, __ -> new LatencyWindow()).percentile(percentile);
+    }
+
+    boolean tryAcquireHedge() {
+        while (true) {
+            final var current = hedges.get();
+            if (current + 1 > budget * requests.get()) return false;
+            if (hedges.compareAndSet(current, current + 1)) return true;
+        }
+    }
+
+    void record(RequestShape requestShape, long latencyNanos) {
+        latencyWindows.computeIfAbsent(requestShape, __ -> new LatencyWindow()).record(latencyNanos);
+    }
+
+    record RequestShape(Boolean reverse, Integer maxBuilds, Set<BuildModel> buildModels) {
+    }
+
+    private static final class LatencyWindow {
+
+        private final long[] samples = new long[sampleSize];
+        private int count = 0;
+        private int next = 0;
+
+        synchronized void record(long latencyNanos) {
+            samples[next] = latencyNanos;
+            next = (next + 1) % sampleSize;
+            if (count < sampleSize) count++;
+        }
+
+        synchronized Optional<Duration> percentile(double percentile) {
+            if (count < minimumSamples) return empty();
+            final var sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            final var index = Math.min(count - 1, (int) Math.ceil(percentile * count) - 1);
+            return Optional.of(Duration.ofNanos(sorted[Math.max(0, index)]));
+        }
+
+    }
+
+}
@@ -3,9 +3,10 @@ package dev.erichaag.develocity.api;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
-import java.util.Objects;
 import java.util.Set;
 
+import static dev.erichaag.develocity.api.LazyBuildModels.buildHashCode;
+import static dev.erichaag.develocity.api.LazyBuildModels.equalBuilds;
 import static dev.erichaag.develocity.api.MethodNotSupportedException.methodNotSupportedForSbt;
 import static java.util.Collections.emptySet;
 
@@ -92,12 +93,12 @@ public final class SbtBuild implements Build {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         SbtBuild that = (SbtBuild) o;
-        return Objects.equals(build, that.build);
+        return equalBuilds(build, that.build);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(build);
+        return buildHashCode(build);
     }
 
     @Override
@@ -0,0 +1,90 @@
+package dev.erichaag.develocity.api;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Shares one in-flight computation per key between concurrent callers.
+ *
+ * <p>A caller asking for a key that is already being computed waits for that
+ * computation instead of starting its own, and receives the same result or
+ * failure. Results are not retained once the computation has completed.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the computed values
+ */
+public final class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the value for the given key, computing it unless it is already
+     * being computed.
+     *
+     * @param key the key to compute the value for
+     * @param compute computes the value
+     * @return the computed value
+     */
+    public V run(K key, Supplier<V> compute) {
+        return runAll(List.of(key), __ -> {
+            final var values = new LinkedHashMap<K, V>();
+            values.put(key, compute.get());
+            return values;
+        }).get(key);
+    }
+
+    /**
+     * Returns the values for the given keys. The keys no other caller is
+     * already computing are computed in a single call, which may leave out
+     * keys it has no value for, and the others are awaited.
+     *
+     * @param keys the keys to compute the values for
+     * @param compute computes the values of the keys it is given
+     * @return the values by key, in the order of the keys, with a {@code null}
+     * value for each key that has no value
+     */
+    public Map<K, V> runAll(List<K> keys, Function<List<K>, Map<K, V>> compute) {
+        final var futures = new LinkedHashMap<K, CompletableFuture<V>>();
+        final var claimed = new LinkedHashMap<K, CompletableFuture<V>>();
+        for (final var key : keys) {
+            final var future = new CompletableFuture<V>();
+            final var inFlightFuture = inFlight.putIfAbsent(key, future);
+            if (inFlightFuture == null) claimed.put(key, future);
+            futures.put(key, inFlightFuture == null ? future : inFlightFuture);
+        }
+        if (!claimed.isEmpty()) computeClaimed(claimed, compute);
+        final var values = new LinkedHashMap<K, V>();
+        futures.forEach((key, future) -> values.put(key, await(future)));
+        return values;
+    }
+
+    private void computeClaimed(Map<K, CompletableFuture<V>> claimed, Function<List<K>, Map<K, V>> compute) {
+        try {
+            final var values = compute.apply(new ArrayList<>(claimed.keySet()));
+            claimed.forEach((key, future) -> future.complete(values.get(key)));
+        } catch (Throwable e) {
+            claimed.values().forEach(it -> it.completeExceptionally(e));
+            throw e;
+        } finally {
+            claimed.forEach(inFlight::remove);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw e;
+        }
+    }
+
+}
@@ -0,0 +1,66 @@
+package dev.erichaag.develocity.api;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.io.IOException;
+
+/**
+ * A Jackson module that deduplicates the strings of deserialized builds.
+ *
+ * <p>Values such as task paths, plugin IDs, usernames, and hostnames repeat
+ * across many builds. With this module registered, each deserialized string
+ * is looked up in a bounded pool shared by all instances of this module, so
+ * builds held in memory, for example by an {@code InMemoryCache}, share one
+ * copy of each common string.
+ *
+ * <p>The pool is lossy: a string evicts the entry it collides with, so rarely
+ * repeated strings never accumulate, while frequently repeated strings are
+ * almost always found.
+ */
+public final class StringInterningModule extends SimpleModule {
+
+    private static final StringPool pool = new StringPool(1 << 14);
+
+    public StringInterningModule() {
+        super("StringInterningModule");
+        addDeserializer(String.class, new InterningStringDeserializer());
+    }
+
+    private static final class InterningStringDeserializer extends StringDeserializer {
+
+        @Override
+        public String deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            final var value = super.deserialize(parser, context);
+            return value == null ? null : pool.intern(value);
+        }
+
+    }
+
+    private static final class StringPool {
+
+        private final String[] entries;
+        private final int mask;
+
+        StringPool(int size) {
+            this.entries = new String[size];
+            this.mask = size - 1;
+        }
+
+        String intern(String value) {
+            final var index = spread(value.hashCode()) & mask;
+            final var entry = entries[index];
+            if (value.equals(entry)) return entry;
+            entries[index] = value;
+            return value;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+
+    }
+
+}
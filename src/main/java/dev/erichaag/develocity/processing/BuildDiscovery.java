@@ -0,0 +1,177 @@
+package dev.erichaag.develocity.processing;
+
+import dev.erichaag.develocity.api.Build;
+import dev.erichaag.develocity.api.DevelocityClient;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.IntStream;
+
+import static java.time.ZoneOffset.UTC;
+import static java.util.concurrent.Executors.newVirtualThreadPerTaskExecutor;
+
+final class BuildDiscovery {
+
+    static final int maxDiscoveryBuildsPerRequest = 1_000;
+
+    // Query dates are given in UTC to the second, as fractions of a second are
+    // not part of the query language's date format
+    private static final DateTimeFormatter queryDateTimeFormat = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss'Z'").withZone(UTC);
+
+    private final DevelocityClient develocity;
+    private final RetryAndBackOff retryAndBackOff;
+    private final int discoveryPartitions;
+    private final Instant since;
+
+    BuildDiscovery(DevelocityClient develocity, RetryAndBackOff retryAndBackOff, int discoveryPartitions, Instant since) {
+        this.develocity = develocity;
+        this.retryAndBackOff = retryAndBackOff;
+        this.discoveryPartitions = discoveryPartitions;
+        this.since = since;
+    }
+
+    DiscoveredBuilds discoverBuilds(String query) {
+        if (discoveryPartitions == 1) return discoverPartition(query);
+        final var backOff = retryAndBackOff.backOff();
+        final var newestBuild = retryAndBackOff.getBuilds(() -> develocity.getBuilds(query, 1, null));
+        if (newestBuild.isEmpty()) {
+            // A timed out probe leaves the partitions unknown, so discovery
+            // falls back to a single partition
+            return retryAndBackOff.backOff() == backOff ? new DiscoveredBuilds() : discoverPartition(query);
+        }
+        final var partitionSize = Duration.between(since, newestBuild.getFirst().getAvailableAt()).dividedBy(discoveryPartitions);
+        if (!partitionSize.isPositive()) return discoverPartition(query);
+        final var partitionQueries = new ArrayList<String>();
+        for (var i = discoveryPartitions - 1; i >= 0; i--) {
+            final var from = since.plus(partitionSize.multipliedBy(i));
+            final var to = from.plus(partitionSize);
+            final var terms = new ArrayList<String>();
+            if (query != null && !query.isBlank()) terms.add("(" + query + ")");
+            if (i > 0) terms.add("buildStartTime>=" + queryDateTimeFormat.format(from));
+            if (i < discoveryPartitions - 1) terms.add("buildStartTime<" + queryDateTimeFormat.format(to));
+            partitionQueries.add(String.join(" and ", terms));
+        }
+        // The oldest partition has no lower bound, so builds that started
+        // before the processed window but became available within it are
+        // still discovered, just like with serial discovery.
+        try (final var executor = newVirtualThreadPerTaskExecutor()) {
+            final var partitions = partitionQueries.stream()
+                    .map(it -> executor.submit(() -> discoverPartition(it)))
+                    .toList();
+            final var discoveredBuilds = new ArrayList<DiscoveredBuilds>();
+            for (final var partition : partitions) discoveredBuilds.add(partition.get());
+            return DiscoveredBuilds.merge(discoveredBuilds);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Discovers the builds of each listener query, within the builds matching
+     * the given query. The builds are kept in their compact form, which is
+     * enough to tell whether a build belongs to a listener query.
+     */
+    Map<String, DiscoveredBuilds> discoverBuildsByListenerQuery(String query, List<BuildListenerRegistration> buildListeners) {
+        final var buildsByListenerQuery = new HashMap<String, DiscoveredBuilds>();
+        buildListeners.stream()
+                .filter(BuildListenerRegistration::isScoped)
+                .map(BuildListenerRegistration::query)
+                .distinct()
+                .forEach(it -> buildsByListenerQuery.put(it, discoverBuilds(query == null || query.isBlank() ? it : "(" + query + ") and (" + it + ")")));
+        return buildsByListenerQuery;
+    }
+
+    /**
+     * Returns the builds matching the query in discovery order, one page at a
+     * time. With a single discovery partition, a page is only requested once
+     * the previous one has been consumed. Otherwise, all partitions are
+     * discovered when the first page is needed.
+     */
+    Iterator<List<Build>> discoverPages(String query) {
+        if (discoveryPartitions == 1) return new Pages(query);
+        return new Iterator<>() {
+
+            private DiscoveredBuilds builds;
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                if (builds == null) builds = discoverBuilds(query);
+                return next < builds.size();
+            }
+
+            @Override
+            public List<Build> next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                final var end = Math.min(builds.size(), next + maxDiscoveryBuildsPerRequest);
+                final var page = IntStream.range(next, end).mapToObj(builds::getBuild).toList();
+                next = end;
+                return page;
+            }
+
+        };
+    }
+
+    private DiscoveredBuilds discoverPartition(String query) {
+        final var builds = new DiscoveredBuilds();
+        new Pages(query).forEachRemaining(it -> it.forEach(builds::add));
+        return builds;
+    }
+
+    private final class Pages implements Iterator<List<Build>> {
+
+        private final String query;
+
+        private List<Build> nextPage;
+        private String lastBuildId;
+        private boolean finished = false;
+
+        private Pages(String query) {
+            this.query = query;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (nextPage == null && !finished) nextPage = requestPage();
+            return nextPage != null;
+        }
+
+        @Override
+        public List<Build> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            final var page = nextPage;
+            nextPage = null;
+            return page;
+        }
+
+        private List<Build> requestPage() {
+            final var cursor = lastBuildId;
+            final var backOff = retryAndBackOff.backOff();
+            final var response = retryAndBackOff.getBuilds(() -> develocity.getBuilds(query, maxDiscoveryBuildsPerRequest, cursor));
+            if (response.isEmpty()) {
+                // A timed out request is sent again until the back off limit
+                // is exceeded, otherwise there are no builds left to discover
+                finished = retryAndBackOff.backOff() == backOff;
+                return null;
+            }
+            lastBuildId = response.getLast().getId();
+            if (response.getLast().getAvailableAt().compareTo(since) >= 0) return response;
+            finished = true;
+            return response.stream().filter(it -> it.getAvailableAt().compareTo(since) >= 0).toList();
+        }
+
+    }
+
+}
@@ -0,0 +1,116 @@
+package dev.erichaag.develocity.processing;
+
+import dev.erichaag.develocity.api.Build;
+import dev.erichaag.develocity.api.BuildModel;
+import dev.erichaag.develocity.api.DevelocityClient;
+import dev.erichaag.develocity.processing.cache.ProcessorCache;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+final class BuildIterator implements Iterator<Build> {
+
+    private final DevelocityClient develocity;
+    private final ProcessorCache processorCache;
+    private final RetryAndBackOff retryAndBackOff;
+    private final int discoveryPartitions;
+    private final Instant since;
+    private final String query;
+    private final Set<BuildModel> processorBuildModels;
+    private final Set<BuildModel> requiredBuildModels;
+    private final List<BuildListenerRegistration> buildListeners;
+    private final ConditionalBuildModelFetcher conditionalBuildModelFetcher;
+    private final Deque<Build> discoveredBuilds = new ArrayDeque<>();
+    private final Deque<Build> readyBuilds = new ArrayDeque<>();
+
+    private Iterator<List<Build>> discoveredPages;
+    private BuildLoader loader;
+    private long maxNextFetch = Long.MAX_VALUE;
+
+    BuildIterator(
+            DevelocityClient develocity,
+            ProcessorCache processorCache,
+            RetryAndBackOff retryAndBackOff,
+            int discoveryPartitions,
+            Instant since,
+            String query,
+            Set<BuildModel> processorBuildModels,
+            Set<BuildModel> requiredBuildModels,
+            List<BuildListenerRegistration> buildListeners,
+            ConditionalBuildModelFetcher conditionalBuildModelFetcher) {
+        this.develocity = develocity;
+        this.processorCache = processorCache;
+        this.retryAndBackOff = retryAndBackOff;
+        this.discoveryPartitions = discoveryPartitions;
+        this.since = since;
+        this.query = query;
+        this.processorBuildModels = processorBuildModels;
+        this.requiredBuildModels = requiredBuildModels;
+        this.buildListeners = buildListeners;
+        this.conditionalBuildModelFetcher = conditionalBuildModelFetcher;
+    }
+
+    void limitNextFetchTo(long maxBuilds) {
+        this.maxNextFetch = maxBuilds;
+        if (loader != null) loader.limitBatchesTo(maxBuilds);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (loader == null) start();
+        while (readyBuilds.isEmpty()) {
+            final var build = nextDiscoveredBuild();
+            if (build == null) {
+                loader.flush();
+                return !readyBuilds.isEmpty();
+            }
+            if (loader.isWanted(build)) {
+                loader.load(build);
+            } else {
+                loader.skip(build);
+            }
+            // Uncached builds are fetched at the latest once the discovered
+            // page runs out, so fetching never waits for further discovery.
+            if (discoveredBuilds.isEmpty()) loader.flush();
+        }
+        return true;
+    }
+
+    @Override
+    public Build next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        return conditionalBuildModelFetcher.fetchConditionalBuildModels(readyBuilds.removeFirst(), loader::requiredBuildModelsFor);
+    }
+
+    private void start() {
+        // Builds are streamed rather than passed to listeners, but they are
+        // still loaded with the build models of the listeners interested in
+        // them, so the processor cache is shared with processing.
+        final var discovery = new BuildDiscovery(develocity, retryAndBackOff, discoveryPartitions, since);
+        final var buildsByListenerQuery = discovery.discoverBuildsByListenerQuery(query, buildListeners);
+        discoveredPages = discovery.discoverPages(query);
+        loader = new BuildLoader(
+                develocity,
+                processorCache,
+                retryAndBackOff,
+                query,
+                processorBuildModels,
+                requiredBuildModels,
+                buildListeners,
+                buildsByListenerQuery,
+                readyBuilds::add,
+                readyBuilds::add);
+        loader.limitBatchesTo(maxNextFetch);
+    }
+
+    private Build nextDiscoveredBuild() {
+        while (discoveredBuilds.isEmpty() && discoveredPages.hasNext()) discoveredBuilds.addAll(discoveredPages.next());
+        return discoveredBuilds.pollFirst();
+    }
+
+}
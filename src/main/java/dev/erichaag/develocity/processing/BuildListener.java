@@ -60,6 +60,26 @@ public interface BuildListener {
         return emptySet();
     }
 
+    /**
+     * Returns whether this listener wants to be notified about the given build.
+     * This information is used by a {@link BuildProcessor} to only request the
+     * build models required by the listeners interested in each build, and to
+     * skip builds no listener is interested in.
+     *
+     * <p>The given build is the one returned during discovery, so it has no
+     * build models available. It can be used to decide based on the build tool
+     * or the basic build data.
+     *
+     * <p>By default, this method returns {@code true}, indicating that this
+     * listener is interested in all builds.
+     *
+     * @param build the discovered build
+     * @return {@code true} if this listener should be notified about the build
+     */
+    default boolean isInterestedIn(Build build) {
+        return true;
+    }
+
     /**
      * Callback method invoked when any build is encountered.
      *
@@ -26,6 +26,11 @@ import static java.util.Set.copyOf;
  * be convenient to quickly construct listeners without needing to write a
  * dedicated class that implements {@link BuildListener}.
  *
+ * <p>The constructed listener is only interested in builds it has a callback
+ * for. For example, a listener with only an {@code onMavenBuild} callback does
+ * not cause Gradle builds to be fetched, see
+ * {@link BuildListener#isInterestedIn(Build)}.
+ *
  * <p>This builder provides a fluent interface, allowing method calls to be
  * chained together to register multiple callbacks for different builds.
  *
@@ -35,6 +40,7 @@ public final class BuildListenerBuilder {
 
     private final List<BuildListener> listeners = new ArrayList<>();
     private final Set<BuildModel> requiredBuildModels = new HashSet<>();
+    private final Set<Class<? extends Build>> buildTypes = new HashSet<>();
 
     BuildListenerBuilder() {
     }
@@ -56,6 +62,11 @@ public final class BuildListenerBuilder {
                 return copyOf(requiredBuildModels);
             }
 
+            @Override
+            public boolean isInterestedIn(Build build) {
+                return buildTypes.stream().anyMatch(it -> it.isInstance(build));
+            }
+
             @Override
             public void onBuild(Build build) {
                 listeners.forEach(it -> it.onBuild(build));
@@ -84,6 +95,10 @@ public final class BuildListenerBuilder {
         };
     }
 
+    boolean isEmpty() {
+        return listeners.isEmpty() && requiredBuildModels.isEmpty();
+    }
+
     /**
      * Adds the specified build models required by the constructed
      * {@link BuildListener}. This information is used by a
@@ -107,6 +122,7 @@ public final class BuildListenerBuilder {
      * @return this builder instance for fluent configuration
      */
     public BuildListenerBuilder onBuild(Consumer<Build> onBuild) {
+        buildTypes.add(Build.class);
         listeners.add(new BuildListener() {
             @Override
             public void onBuild(Build build) {
@@ -124,6 +140,7 @@ public final class BuildListenerBuilder {
      * @return this builder instance for fluent configuration
      */
     public BuildListenerBuilder onGradleBuild(Consumer<GradleBuild> onGradleBuild) {
+        buildTypes.add(GradleBuild.class);
         listeners.add(new BuildListener() {
             @Override
             public void onGradleBuild(GradleBuild build) {
@@ -141,6 +158,7 @@ public final class BuildListenerBuilder {
      * @return this builder instance for fluent configuration
      */
     public BuildListenerBuilder onMavenBuild(Consumer<MavenBuild> onMavenBuild) {
+        buildTypes.add(MavenBuild.class);
         listeners.add(new BuildListener() {
             @Override
             public void onMavenBuild(MavenBuild build) {
@@ -158,6 +176,7 @@ public final class BuildListenerBuilder {
      * @return this builder instance for fluent configuration
      */
     public BuildListenerBuilder onBazelBuild(Consumer<BazelBuild> onBazelBuild) {
+        buildTypes.add(BazelBuild.class);
         listeners.add(new BuildListener() {
             @Override
             public void onBazelBuild(BazelBuild build) {
@@ -175,6 +194,7 @@ public final class BuildListenerBuilder {
      * @return this builder instance for fluent configuration
      */
     public BuildListenerBuilder onSbtBuild(Consumer<SbtBuild> onSbtBuild) {
+        buildTypes.add(SbtBuild.class);
         listeners.add(new BuildListener() {
             @Override
             public void onSbtBuild(SbtBuild build) {
@@ -0,0 +1,133 @@
+package dev.erichaag.develocity.processing;
+
+import dev.erichaag.develocity.api.BazelBuild;
+import dev.erichaag.develocity.api.Build;
+import dev.erichaag.develocity.api.GradleBuild;
+import dev.erichaag.develocity.api.MavenBuild;
+import dev.erichaag.develocity.api.SbtBuild;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static dev.erichaag.develocity.processing.ListenerDispatch.ORDERED;
+import static dev.erichaag.develocity.processing.ListenerDispatch.SERIAL;
+
+final class BuildListenerDispatcher implements AutoCloseable {
+
+    private static final Delivery stop = new Delivery(null, null);
+
+    private final ListenerDispatch listenerDispatch;
+    private final Semaphore bufferedBuilds;
+    private final Map<BuildListener, ListenerQueue> listenerQueues = new IdentityHashMap<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private boolean failureThrown = false;
+
+    BuildListenerDispatcher(ListenerDispatch listenerDispatch, int maxBufferedBuilds) {
+        this.listenerDispatch = listenerDispatch;
+        this.bufferedBuilds = new Semaphore(maxBufferedBuilds);
+    }
+
+    void dispatch(Build build, List<BuildListener> listeners) {
+        if (listeners.isEmpty()) return;
+        if (listenerDispatch == SERIAL) {
+            listeners.forEach(it -> notifyListener(it, build));
+            return;
+        }
+        throwIfFailed();
+        acquire(bufferedBuilds);
+        final var remainingListeners = new AtomicInteger(listeners.size());
+        listeners.forEach(it -> listenerQueues.computeIfAbsent(it, ListenerQueue::new).queue.add(new Delivery(build, remainingListeners)));
+    }
+
+    @Override
+    public void close() {
+        listenerQueues.values().forEach(it -> it.consumers.forEach(__ -> it.queue.add(stop)));
+        listenerQueues.values().forEach(it -> it.consumers.forEach(BuildListenerDispatcher::join));
+        listenerQueues.clear();
+        throwIfFailed();
+    }
+
+    private void throwIfFailed() {
+        final var exception = failure.get();
+        if (exception != null && !failureThrown) {
+            failureThrown = true;
+            if (exception instanceof Error error) throw error;
+            throw (RuntimeException) exception;
+        }
+    }
+
+    private void consume(BuildListener listener, BlockingQueue<Delivery> queue) {
+        while (true) {
+            final var delivery = take(queue);
+            if (delivery == stop) return;
+            try {
+                if (failure.get() == null) notifyListener(listener, delivery.build);
+            } catch (Throwable e) {
+                // errors are recorded too, as this consumer must keep releasing buffered builds until stopped
+                failure.compareAndSet(null, e);
+            } finally {
+                if (delivery.remainingListeners.decrementAndGet() == 0) bufferedBuilds.release();
+            }
+        }
+    }
+
+    private static void notifyListener(BuildListener listener, Build build) {
+        listener.onBuild(build);
+        switch (build) {
+            case GradleBuild b -> listener.onGradleBuild(b);
+            case MavenBuild b -> listener.onMavenBuild(b);
+            case BazelBuild b -> listener.onBazelBuild(b);
+            case SbtBuild b -> listener.onSbtBuild(b);
+        }
+    }
+
+    private static void acquire(Semaphore semaphore) {
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Delivery take(BlockingQueue<Delivery> queue) {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void join(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private record Delivery(Build build, AtomicInteger remainingListeners) {
+    }
+
+    private final class ListenerQueue {
+
+        private final BlockingQueue<Delivery> queue = new LinkedBlockingQueue<>();
+        private final List<Thread> consumers = new ArrayList<>();
+
+        private ListenerQueue(BuildListener listener) {
+            final var parallelism = listenerDispatch == ORDERED ? 1 : Runtime.getRuntime().availableProcessors();
+            for (int i = 0; i < parallelism; i++) {
+                consumers.add(Thread.ofVirtual().name("build-listener-dispatch").start(() -> consume(listener, queue)));
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,13 @@
+package dev.erichaag.develocity.processing;
+
+record BuildListenerRegistration(BuildListener listener, String query) {
+
+    static BuildListenerRegistration unscoped(BuildListener listener) {
+        return new BuildListenerRegistration(listener, null);
+    }
+
+    boolean isScoped() {
+        return query != null;
+    }
+
+}
@@ -0,0 +1,223 @@
+package dev.erichaag.develocity.processing;
+
+import dev.erichaag.develocity.api.Build;
+import dev.erichaag.develocity.api.BuildModel;
+import dev.erichaag.develocity.api.DevelocityClient;
+import dev.erichaag.develocity.processing.cache.ProcessorCache;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static dev.erichaag.develocity.api.BuildModel.ALL_MODELS;
+import static java.lang.Integer.min;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Loads discovered builds with the build models their listeners require.
+ *
+ * <p>Builds are loaded from the processor cache where possible. Consecutive
+ * uncached builds are batched into as few requests as possible and fetched
+ * from the build before them, so builds must be loaded in discovery order.
+ */
+final class BuildLoader {
+
+    private final DevelocityClient develocity;
+    private final ProcessorCache processorCache;
+    private final RetryAndBackOff retryAndBackOff;
+    private final String query;
+    private final Set<BuildModel> processorBuildModels;
+    private final Set<BuildModel> requiredBuildModels;
+    private final List<BuildListenerRegistration> buildListeners;
+    private final Map<String, DiscoveredBuilds> buildsByListenerQuery;
+    private final Consumer<Build> onCachedBuild;
+    private final Consumer<Build> onFetchedBuild;
+    private final List<Build> uncachedBuilds = new ArrayList<>();
+    private final Map<Class<? extends Build>, Set<BuildModel>> uncachedBuildModelsByBuildType = new HashMap<>();
+
+    private String lastCachedBuildId;
+    private long batchLimit = Long.MAX_VALUE;
+
+    BuildLoader(
+            DevelocityClient develocity,
+            ProcessorCache processorCache,
+            RetryAndBackOff retryAndBackOff,
+            String query,
+            Set<BuildModel> processorBuildModels,
+            Set<BuildModel> requiredBuildModels,
+            List<BuildListenerRegistration> buildListeners,
+            Map<String, DiscoveredBuilds> buildsByListenerQuery,
+            Consumer<Build> onCachedBuild,
+            Consumer<Build> onFetchedBuild) {
+        this.develocity = develocity;
+        this.processorCache = processorCache;
+        this.retryAndBackOff = retryAndBackOff;
+        this.query = query;
+        this.processorBuildModels = processorBuildModels;
+        this.requiredBuildModels = requiredBuildModels;
+        this.buildListeners = buildListeners;
+        this.buildsByListenerQuery = buildsByListenerQuery;
+        this.onCachedBuild = onCachedBuild;
+        this.onFetchedBuild = onFetchedBuild;
+    }
+
+    void limitBatchesTo(long maxBuilds) {
+        this.batchLimit = maxBuilds;
+    }
+
+    boolean isWanted(Build build) {
+        return buildListeners.isEmpty() || buildListeners.stream().anyMatch(it -> isListeningTo(it, build));
+    }
+
+    boolean isListeningTo(BuildListenerRegistration registration, Build build) {
+        if (!registration.listener().isInterestedIn(build)) return false;
+        return !registration.isScoped() || buildsByListenerQuery.get(registration.query()).contains(build);
+    }
+
+    void load(Build build) {
+        if (requiredBuildModels.isEmpty()) {
+            onFetchedBuild.accept(build);
+            return;
+        }
+        final var buildModels = requiredBuildModelsFor(build);
+        final var cachedBuild = processorCache.load(build.getId(), buildModels);
+        if (!uncachedBuilds.isEmpty() && (cachedBuild.isPresent() || !fitsUncachedBuilds(build, buildModels))) {
+            flush();
+        }
+        if (cachedBuild.isPresent()) {
+            loadCachedBuild(cachedBuild.get(), buildModels);
+            lastCachedBuildId = build.getId();
+        } else {
+            uncachedBuilds.add(build);
+            uncachedBuildModelsByBuildType.put(build.getClass(), buildModels);
+            if (uncachedBuilds.size() >= maxBuildsPerBatch()) flush();
+        }
+    }
+
+    void skip(Build build) {
+        if (requiredBuildModels.isEmpty()) return;
+        flush();
+        lastCachedBuildId = build.getId();
+    }
+
+    void flush() {
+        if (uncachedBuilds.isEmpty()) return;
+        final var fetchedBuilds = new HashMap<String, Build>();
+        final var buildToolsRequiringBuildModels = uncachedBuildModelsByBuildType.values().stream()
+                .filter(it -> !it.isEmpty())
+                .count();
+        if (buildToolsRequiringBuildModels > 1) {
+            fetchUncachedBuildsByBuildTool(it -> fetchedBuilds.put(it.getId(), it));
+        } else {
+            final var buildModels = EnumSet.noneOf(BuildModel.class);
+            uncachedBuildModelsByBuildType.values().forEach(buildModels::addAll);
+            fetchUncachedBuilds(query, uncachedBuilds, lastCachedBuildId, buildModels, it -> fetchedBuilds.put(it.getId(), it));
+        }
+        // Fetched builds are matched to the uncached builds by ID and loaded
+        // in discovery order. Builds the paged requests did not return are
+        // fetched on their own rather than dropped, and any other builds
+        // they returned are ignored.
+        uncachedBuilds.stream()
+                .map(it -> fetchedBuilds.containsKey(it.getId()) ? fetchedBuilds.get(it.getId()) : fetchBuild(it))
+                .forEach(this::loadFetchedBuild);
+        uncachedBuilds.clear();
+        uncachedBuildModelsByBuildType.clear();
+    }
+
+    private int maxBuildsPerBatch() {
+        return (int) Math.min(retryAndBackOff.currentMaxBuildsPerRequest(), batchLimit);
+    }
+
+    Set<BuildModel> requiredBuildModelsFor(Build build) {
+        final var buildModels = EnumSet.noneOf(BuildModel.class);
+        processorBuildModels.stream().filter(it -> it.isModelFor(build)).forEach(buildModels::add);
+        buildListeners.stream()
+                .filter(it -> isListeningTo(it, build))
+                .flatMap(it -> it.listener().getRequiredBuildModels().stream())
+                .filter(it -> it.isModelFor(build))
+                .forEach(buildModels::add);
+        return buildModels;
+    }
+
+    private boolean fitsUncachedBuilds(Build build, Set<BuildModel> buildModels) {
+        // Build models are specific to one build tool, except for ALL_MODELS,
+        // so builds of different tools can share a request as long as builds
+        // of the same tool require the same build models.
+        final var uncachedBuildModels = uncachedBuildModelsByBuildType.get(build.getClass());
+        if (uncachedBuildModels != null) return uncachedBuildModels.equals(buildModels);
+        return uncachedBuildModelsByBuildType.values().stream()
+                .allMatch(it -> it.contains(ALL_MODELS) == buildModels.contains(ALL_MODELS));
+    }
+
+    private void loadCachedBuild(Build cachedBuild, Set<BuildModel> buildModels) {
+        if (cachedBuild.containsAllRelevantBuildModelsFrom(buildModels)) {
+            onCachedBuild.accept(cachedBuild);
+            return;
+        }
+        // The build was discovered so it must exist
+        //noinspection OptionalGetWithoutIsPresent
+        final var build = develocity.getBuild(cachedBuild.getId(), buildModels).get();
+        saveToProcessorCache(build);
+        onFetchedBuild.accept(build);
+    }
+
+    private void fetchUncachedBuildsByBuildTool(Consumer<Build> onFetched) {
+        // Each build tool is fetched with only its own build models, starting
+        // from the same build so the fetched builds stay within the uncached
+        // builds.
+        final var fromBuild = lastCachedBuildId;
+        uncachedBuilds.stream()
+                .collect(groupingBy(Build::getClass, LinkedHashMap::new, toList()))
+                .forEach((buildType, builds) -> fetchUncachedBuilds(
+                        queryForBuildTool(builds.getFirst()),
+                        builds,
+                        fromBuild,
+                        uncachedBuildModelsByBuildType.get(buildType),
+                        onFetched));
+    }
+
+    private Build fetchBuild(Build build) {
+        return develocity.getBuild(build.getId(), uncachedBuildModelsByBuildType.get(build.getClass()))
+                .orElseThrow(() -> new IllegalStateException("Discovered build " + build.getId() + " could not be fetched"));
+    }
+
+    private void fetchUncachedBuilds(String query, List<Build> builds, String fromBuild, Set<BuildModel> buildModels, Consumer<Build> onFetched) {
+        var fetched = 0;
+        var lastFetchedBuildId = fromBuild;
+        while (fetched < builds.size()) {
+            final var maxBuilds = min(retryAndBackOff.currentMaxBuildsPerRequest(), builds.size() - fetched);
+            final var buildIds = builds.subList(fetched, fetched + maxBuilds).stream().map(Build::getId).toList();
+            final var cursor = lastFetchedBuildId;
+            final var backOff = retryAndBackOff.backOff();
+            final var page = retryAndBackOff.getBuilds(() -> develocity.getBuildPage(query, cursor, buildIds, buildModels));
+            // An empty response is only retried after backing off, otherwise
+            // there are no builds left to fetch
+            if (page.isEmpty() && retryAndBackOff.backOff() == backOff) return;
+            fetched += page.size();
+            if (!page.isEmpty()) lastFetchedBuildId = page.getLast().getId();
+            page.forEach(onFetched);
+        }
+    }
+
+    private String queryForBuildTool(Build build) {
+        final var buildTool = "buildTool:" + build.getBuild().getBuildToolType();
+        return query == null || query.isBlank() ? buildTool : "(" + query + ") and " + buildTool;
+    }
+
+    private void loadFetchedBuild(Build build) {
+        saveToProcessorCache(build);
+        onFetchedBuild.accept(build);
+    }
+
+    private void saveToProcessorCache(Build build) {
+        processorCache.save(build);
+        lastCachedBuildId = build.getId();
+    }
+
+}
@@ -10,20 +10,30 @@ import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static java.lang.String.join;
 import static java.time.Instant.now;
 import static java.util.Objects.requireNonNullElse;
 import static java.util.Objects.requireNonNullElseGet;
 import static java.util.Optional.empty;
+import static java.util.Spliterator.NONNULL;
+import static java.util.Spliterator.ORDERED;
+import static java.util.Spliterators.spliteratorUnknownSize;
 import static java.util.stream.Collectors.toUnmodifiableSet;
 
 public final class BuildProcessor {
 
     private static final int defaultMaxBuildsPerRequest = 100;
+    private static final int defaultMaxBufferedBuilds = 100;
+    private static final int defaultDiscoveryPartitions = 1;
 
     private final DevelocityClient develocity;
     private final ProcessorCache processorCache;
@@ -32,9 +42,15 @@ public final class BuildProcessor {
     private final double backOffFactor;
     private final int retryLimit;
     private final double retryFactor;
-    private final List<BuildListener> buildListeners;
+    private final ListenerDispatch listenerDispatch;
+    private final int maxBufferedBuilds;
+    private final int discoveryPartitions;
+    private final String queryFilter;
+    private final List<BuildListenerRegistration> buildListeners;
     private final List<ProcessListener> processListeners;
+    private final Set<BuildModel> processorBuildModels;
     private final Set<BuildModel> requiredBuildModels;
+    private final ConditionalBuildModelFetcher conditionalBuildModelFetcher;
 
     BuildProcessor(
             DevelocityClient develocity,
@@ -44,7 +60,13 @@ public final class BuildProcessor {
             Double backOffFactor,
             Integer retryLimit,
             Double retryFactor,
-            List<BuildListener> buildListeners,
+            ListenerDispatch listenerDispatch,
+            Integer maxBufferedBuilds,
+            Integer discoveryPartitions,
+            String queryFilter,
+            List<ConditionalBuildModels> conditionalBuildModels,
+            Set<BuildModel> processorBuildModels,
+            List<BuildListenerRegistration> buildListeners,
             List<ProcessListener> processListeners
     ) {
         this.develocity = develocity;
@@ -54,11 +76,18 @@ public final class BuildProcessor {
         this.backOffFactor = requireNonNullElse(backOffFactor, .75);
         this.retryLimit = requireNonNullElse(retryLimit, 5);
         this.retryFactor = requireNonNullElse(retryFactor, 1.5);
+        this.listenerDispatch = requireNonNullElse(listenerDispatch, ListenerDispatch.SERIAL);
+        this.maxBufferedBuilds = requireNonNullElse(maxBufferedBuilds, defaultMaxBufferedBuilds);
+        this.discoveryPartitions = requireNonNullElse(discoveryPartitions, defaultDiscoveryPartitions);
+        this.queryFilter = queryFilter;
         this.buildListeners = buildListeners;
         this.processListeners = processListeners;
-        this.requiredBuildModels = buildListeners.stream()
-                .flatMap(it -> it.getRequiredBuildModels().stream())
+        this.processorBuildModels = Set.copyOf(processorBuildModels);
+        this.requiredBuildModels = Stream.concat(
+                        this.processorBuildModels.stream(),
+                        buildListeners.stream().flatMap(it -> it.listener().getRequiredBuildModels().stream()))
                 .collect(toUnmodifiableSet());
+        this.conditionalBuildModelFetcher = new ConditionalBuildModelFetcher(develocity, this.processorCache, conditionalBuildModels);
         validate();
     }
 
@@ -69,6 +98,8 @@ public final class BuildProcessor {
         if (backOffFactor <= 0 || backOffFactor >= 1) validationErrors.add("backOffFactor must be between 0 (exclusive) and 1 (exclusive)");
         if (retryLimit <= 0) validationErrors.add("retryLimit must be greater than 0");
         if (retryFactor <= 1) validationErrors.add("retryFactor must be greater than 1");
+        if (maxBufferedBuilds < 1) validationErrors.add("maxBufferedBuilds must be greater than 0");
+        if (discoveryPartitions < 1) validationErrors.add("discoveryPartitions must be greater than 0");
         if (!validationErrors.isEmpty()) throw new IllegalArgumentException(join(", ", validationErrors));
     }
 
@@ -115,6 +146,15 @@ public final class BuildProcessor {
     }
 
     public void process(Instant since, String query) {
+        // Collectors accumulate into state of their own, so each run replaces
+        // them with fresh instances rather than sharing them between runs.
+        final var runListeners = new IdentityHashMap<CollectingListener<?, ?>, CollectingListener<?, ?>>();
+        final var buildListeners = this.buildListeners.stream()
+                .map(it -> new BuildListenerRegistration(forRun(it.listener(), runListeners), it.query()))
+                .toList();
+        final var processListeners = this.processListeners.stream()
+                .map(it -> forRun(it, runListeners))
+                .toList();
         new BuildProcessorWorker(
                 develocity,
                 processorCache,
@@ -123,11 +163,106 @@ public final class BuildProcessor {
                 backOffFactor,
                 retryLimit,
                 retryFactor,
+                listenerDispatch,
+                maxBufferedBuilds,
+                discoveryPartitions,
                 since,
-                query,
+                filtered(query),
                 buildListeners,
-                processListeners,
-                requiredBuildModels).process();
+                new ProcessListenerDispatcher(processListeners),
+                processorBuildModels,
+                requiredBuildModels,
+                conditionalBuildModelFetcher).process();
+    }
+
+    public Stream<Build> stream(ZonedDateTime since) {
+        return stream(since, null);
+    }
+
+    public Stream<Build> stream(ZonedDateTime since, String query) {
+        return stream(since.toInstant(), query);
+    }
+
+    public Stream<Build> stream(OffsetDateTime since) {
+        return stream(since, null);
+    }
+
+    public Stream<Build> stream(OffsetDateTime since, String query) {
+        return stream(since.toInstant(), query);
+    }
+
+    public Stream<Build> stream(Duration since) {
+        return stream(now().minus(since), null);
+    }
+
+    public Stream<Build> stream(Duration since, String query) {
+        return stream(now().minus(since), query);
+    }
+
+    public Stream<Build> stream(Instant since) {
+        return stream(since, null);
+    }
+
+    public Stream<Build> stream(Instant since, String query) {
+        return StreamSupport.stream(spliteratorUnknownSize(newBuildIterator(since, query), ORDERED | NONNULL), false);
+    }
+
+    public Flow.Publisher<Build> publisher(ZonedDateTime since) {
+        return publisher(since, null);
+    }
+
+    public Flow.Publisher<Build> publisher(ZonedDateTime since, String query) {
+        return publisher(since.toInstant(), query);
+    }
+
+    public Flow.Publisher<Build> publisher(OffsetDateTime since) {
+        return publisher(since, null);
+    }
+
+    public Flow.Publisher<Build> publisher(OffsetDateTime since, String query) {
+        return publisher(since.toInstant(), query);
+    }
+
+    public Flow.Publisher<Build> publisher(Duration since) {
+        return publisher(now().minus(since), null);
+    }
+
+    public Flow.Publisher<Build> publisher(Duration since, String query) {
+        return publisher(now().minus(since), query);
+    }
+
+    public Flow.Publisher<Build> publisher(Instant since) {
+        return publisher(since, null);
+    }
+
+    public Flow.Publisher<Build> publisher(Instant since, String query) {
+        return new BuildPublisher(() -> newBuildIterator(since, query));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T forRun(T listener, Map<CollectingListener<?, ?>, CollectingListener<?, ?>> runListeners) {
+        if (!(listener instanceof CollectingListener<?, ?> collectingListener)) return listener;
+        return (T) runListeners.computeIfAbsent(collectingListener, CollectingListener::forRun);
+    }
+
+    private BuildIterator newBuildIterator(Instant since, String query) {
+        return new BuildIterator(
+                develocity,
+                processorCache,
+                new RetryAndBackOff(maxBuildsPerRequest, backOffLimit, backOffFactor, retryLimit, retryFactor),
+                discoveryPartitions,
+                since,
+                filtered(query),
+                processorBuildModels,
+                requiredBuildModels,
+                buildListeners,
+                conditionalBuildModelFetcher);
+    }
+
+    private String filtered(String query) {
+        if (queryFilter == null) return query;
+        if (query == null || query.isBlank()) return queryFilter;
+        return queryFilter + " and (" + query + ")";
     }
 
     private static final class NoopCache implements ProcessorCache {
@@ -6,6 +6,8 @@ import dev.erichaag.develocity.api.BuildModel;
 import dev.erichaag.develocity.api.DevelocityClient;
 import dev.erichaag.develocity.api.GradleBuild;
 import dev.erichaag.develocity.api.MavenBuild;
+import dev.erichaag.develocity.api.ProjectedBuild;
+import dev.erichaag.develocity.api.Projection;
 import dev.erichaag.develocity.api.SbtBuild;
 import dev.erichaag.develocity.processing.cache.ProcessorCache;
 import dev.erichaag.develocity.processing.event.CachedBuildEvent;
@@ -23,9 +25,14 @@ import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collector;
 
+import static java.lang.String.join;
 import static java.time.Instant.now;
 
 /**
@@ -46,8 +53,11 @@ import static java.time.Instant.now;
 public final class BuildProcessorBuilder {
 
     private final DevelocityClient develocity;
-    private final List<BuildListener> buildListeners = new ArrayList<>();
+    private final List<BuildListenerRegistration> buildListeners = new ArrayList<>();
     private final List<ProcessListener> processListeners = new ArrayList<>();
+    private final List<String> queryFilters = new ArrayList<>();
+    private final List<ConditionalBuildModels> conditionalBuildModels = new ArrayList<>();
+    private final Set<BuildModel> requiredBuildModels = new HashSet<>();
     private final BuildListenerBuilder buildListenerBuilder = BuildListener.builder();
     private final ProcessListenerBuilder processListenerBuilder = ProcessListener.builder();
 
@@ -57,6 +67,9 @@ public final class BuildProcessorBuilder {
     private Double backOffFactor;
     private Integer retryLimit;
     private Double retryFactor;
+    private ListenerDispatch listenerDispatch;
+    private Integer maxBufferedBuilds;
+    private Integer discoveryPartitions;
 
     BuildProcessorBuilder(DevelocityClient develocity) {
         this.develocity = develocity;
@@ -72,7 +85,30 @@ public final class BuildProcessorBuilder {
      * @return this builder instance for fluent configuration
      */
     public BuildProcessorBuilder register(BuildListener listener) {
-        buildListeners.add(listener);
+        buildListeners.add(BuildListenerRegistration.unscoped(listener));
+        return this;
+    }
+
+    /**
+     * Registers a {@link BuildListener} to receive notifications only about
+     * builds matching the given query, in addition to any query passed to
+     * {@code process}.
+     *
+     * <p>Multiple listeners, each with their own query and required build
+     * models, can be registered on the same processor. Builds are discovered
+     * and fetched once for all of them and each build is only passed to the
+     * listeners whose query it matches. Resolving a query costs one additional
+     * discovery pass for the builds matching both it and the processor's
+     * query, which does not request any build models. Builds matching
+     * none of the registered queries are not fetched, unless a listener without
+     * a query that is interested in them is also registered.
+     *
+     * @param listener the listener to register
+     * @param query a query string selecting the builds this listener receives
+     * @return this builder instance for fluent configuration
+     */
+    public BuildProcessorBuilder register(BuildListener listener, String query) {
+        buildListeners.add(new BuildListenerRegistration(listener, query));
         return this;
     }
 
@@ -149,6 +185,57 @@ public final class BuildProcessorBuilder {
         return this;
     }
 
+    /**
+     * Registers a {@link Collector} to aggregate all builds encountered during
+     * processing, passing the result to the given callback once processing
+     * has finished.
+     *
+     * <p>Unlike accumulating into shared state from {@code onBuild}, each
+     * thread delivering builds accumulates into its own container obtained
+     * from the collector's supplier. The containers are merged with the
+     * collector's combiner when processing finishes, so the accumulator does
+     * not need to be thread-safe even when listeners are dispatched in
+     * parallel, see {@link #withListenerDispatch(ListenerDispatch)}. As with
+     * {@link java.util.stream.Stream#collect(Collector)}, the combiner must be
+     * associative, and the order in which builds are accumulated is only
+     * preserved with {@link ListenerDispatch#SERIAL} or
+     * {@link ListenerDispatch#ORDERED} dispatch. Each call to {@code process}
+     * aggregates into containers of its own and passes its own result to the
+     * callback, even when calls run concurrently.
+     *
+     * <p>Multiple collectors can be registered using this method.
+     *
+     * @param collector the collector used to aggregate builds
+     * @param onResult the callback function to execute with the result
+     * @param <A> the mutable accumulation type of the collector
+     * @param <R> the result type of the collector
+     * @return this builder instance for fluent configuration
+     */
+    public <A, R> BuildProcessorBuilder collect(Collector<? super Build, A, R> collector, Consumer<? super R> onResult) {
+        final var listener = new CollectingListener<>(collector, onResult);
+        buildListeners.add(BuildListenerRegistration.unscoped(listener));
+        processListeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Registers a callback function to be invoked with the fields of the given
+     * {@link Projection} for each build at least one of its fields applies to.
+     *
+     * <p>The build models the projection extracts its fields from are
+     * requested automatically. Combined with a client or cache that reads
+     * builds with the {@link dev.erichaag.develocity.api.LazyBuildModelsModule},
+     * the fields are extracted without binding the build models.
+     *
+     * @param projection the fields to extract from each build
+     * @param onProjectedBuild the callback function to execute
+     * @return this builder instance for fluent configuration
+     */
+    public BuildProcessorBuilder onProjectedBuild(Projection projection, Consumer<? super ProjectedBuild> onProjectedBuild) {
+        buildListeners.add(BuildListenerRegistration.unscoped(new ProjectingListener(projection, onProjectedBuild)));
+        return this;
+    }
+
     /**
      * Registers a callback function to be invoked when a build is retrieved
      * from a {@link ProcessorCache}.
@@ -219,11 +306,98 @@ public final class BuildProcessorBuilder {
         return this;
     }
 
+    /**
+     * Restricts processing to builds with the given tag.
+     *
+     * <p>Filters are compiled into the query sent to the Develocity API, so
+     * builds not matching them are excluded by the server before discovery and
+     * before any build models are downloaded. When several filters are
+     * configured, a build must match all of them. Any query passed to
+     * {@code process} is combined with the filters in the same way.
+     *
+     * @param tag the tag a build must have
+     * @return this builder instance for fluent configuration
+     */
+    public BuildProcessorBuilder filterByTag(String tag) {
+        return filterBy("tag", tag);
+    }
+
+    /**
+     * Restricts processing to builds of the given build tool, for example
+     * {@code gradle}, {@code maven}, {@code bazel} or {@code sbt}.
+     *
+     * <p>See {@link #filterByTag(String)} for how filters are applied.
+     *
+     * @param buildTool the build tool a build must use
+     * @return this builder instance for fluent configuration
+     */
+    public BuildProcessorBuilder filterByBuildTool(String buildTool) {
+        return filterBy("buildTool", buildTool);
+    }
+
+    /**
+     * Restricts processing to builds of the given project.
+     *
+     * <p>See {@link #filterByTag(String)} for how filters are applied.
+     *
+     * @param project the project name a build must have
+     * @return this builder instance for fluent configuration
+     */
+    public BuildProcessorBuilder filterByProject(String project) {
+        return filterBy("project", project);
+    }
+
+    /**
+     * Restricts processing to builds run by the given user.
+     *
+     * <p>See {@link #filterByTag(String)} for how filters are applied.
+     *
+     * @param user the username a build must have been run by
+     * @return this builder instance for fluent configuration
+     */
+    public BuildProcessorBuilder filterByUser(String user) {
+        return filterBy("user", user);
+    }
+
+    /**
+     * Restricts processing to builds with the given custom value.
+     *
+     * <p>See {@link #filterByTag(String)} for how filters are applied.
+     *
+     * @param name the name of the custom value
+     * @param value the value the custom value must have
+     * @return this builder instance for fluent configuration
+     */
+    public BuildProcessorBuilder filterByCustomValue(String name, String value) {
+        return filterBy("value", name + "=" + value);
+    }
+
+    /**
+     * Restricts processing to failed builds.
+     *
+     * <p>See {@link #filterByTag(String)} for how filters are applied.
+     *
+     * @return this builder instance for fluent configuration
+     */
+    public BuildProcessorBuilder filterByFailed() {
+        return filterBy("buildOutcome", "failed");
+    }
+
+    private BuildProcessorBuilder filterBy(String field, String value) {
+        queryFilters.add(field + ":" + quoteIfNecessary(value));
+        return this;
+    }
+
     /**
      * Adds the specified build models required by the constructed
      * {@link BuildProcessor}. This information is used by the
      * {@link BuildProcessor} to know which build models to request.
      *
+     * <p>These build models are requested for every build that any registered
+     * listener is interested in. Build models required by a specific listener,
+     * see {@link BuildListener#getRequiredBuildModels()}, are only requested
+     * for the builds that listener is interested in.
+     *
      * <p>Calling this method more than once will add the supplied build models
      * to the set of required build models. Duplicate build models are ignored.
      *
@@ -231,7 +405,33 @@ public final class BuildProcessorBuilder {
      * @return this builder instance for fluent configuration
      */
     public BuildProcessorBuilder withRequiredBuildModels(BuildModel... buildModels) {
-        buildListenerBuilder.requiredBuildModels(buildModels);
+        requiredBuildModels.addAll(Set.of(buildModels));
+        return this;
+    }
+
+    /**
+     * Adds build models that are only required for builds matching the given
+     * condition.
+     *
+     * <p>Builds are first fetched with the build models required by the
+     * registered listeners. The condition is then evaluated against each build
+     * and only builds for which it holds are fetched again with the given
+     * build models before being passed to the listeners. This avoids
+     * downloading expensive build models, such as build profile overviews,
+     * for builds that are not interesting. Note that builds requiring
+     * conditional build models are fetched one at a time.
+     *
+     * <p>Calling this method more than once adds another condition. A build
+     * matching several conditions is fetched once with all of their build
+     * models.
+     *
+     * @param condition the condition a build must match to require the given
+     *                  build models
+     * @param buildModels the build models to fetch for matching builds
+     * @return this builder instance for fluent configuration
+     */
+    public BuildProcessorBuilder withConditionalBuildModels(Predicate<? super Build> condition, BuildModel... buildModels) {
+        conditionalBuildModels.add(new ConditionalBuildModels(condition, Set.of(buildModels)));
         return this;
     }
 
@@ -340,6 +540,69 @@ public final class BuildProcessorBuilder {
         return this;
     }
 
+    /**
+     * Sets how builds are handed to the registered {@link BuildListener}s.
+     *
+     * <p>With {@link ListenerDispatch#ORDERED} or
+     * {@link ListenerDispatch#UNORDERED}, listeners run on their own threads
+     * so that slow listeners do not stall fetching builds from the API. Any
+     * exception thrown by a listener stops processing and is rethrown from
+     * {@code process}.
+     *
+     * <p>By default, listeners are dispatched using
+     * {@link ListenerDispatch#SERIAL}.
+     *
+     * @param listenerDispatch the dispatch mode to use
+     * @return this builder instance for fluent configuration
+     */
+    public BuildProcessorBuilder withListenerDispatch(ListenerDispatch listenerDispatch) {
+        this.listenerDispatch = listenerDispatch;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of fetched builds that may be waiting to be
+     * consumed by listeners at any one time.
+     *
+     * <p>This high-water mark only applies when listeners are dispatched in
+     * parallel, see {@link #withListenerDispatch(ListenerDispatch)}. Once it
+     * is reached, fetching pauses until the slowest interested listener has
+     * consumed a build. A build counts once towards the limit regardless of how
+     * many listeners receive it. Note that the builds of the page currently
+     * being fetched are held in addition to this limit.
+     *
+     * <p>By default, the maximum number of buffered builds is 100.
+     *
+     * @param maxBufferedBuilds the maximum number of buffered builds
+     * @return this builder instance for fluent configuration
+     */
+    public BuildProcessorBuilder withMaxBufferedBuilds(int maxBufferedBuilds) {
+        this.maxBufferedBuilds = maxBufferedBuilds;
+        return this;
+    }
+
+    /**
+     * Sets the number of time slices discovery is split into.
+     *
+     * <p>Discovery pages through builds one request at a time, from the newest
+     * build back to the start of the processed time window. With more than one
+     * partition, the window is split into equal slices by build start time,
+     * which are discovered concurrently and merged into the same order as
+     * serial discovery. For long time windows, for example one partition per
+     * day of a 90-day window, this reduces discovery time roughly by the
+     * number of partitions at the cost of as many concurrent requests.
+     *
+     * <p>By default, discovery is not partitioned.
+     *
+     * @param discoveryPartitions the number of time slices to discover
+     *                            concurrently
+     * @return this builder instance for fluent configuration
+     */
+    public BuildProcessorBuilder withDiscoveryPartitions(int discoveryPartitions) {
+        this.discoveryPartitions = discoveryPartitions;
+        return this;
+    }
+
     /**
      * Builds and starts the {@link BuildProcessor}, processing builds since the
      * given date and time.
@@ -489,7 +752,7 @@ public final class BuildProcessorBuilder {
      * @return a new {@link BuildProcessor} instance
      */
     public BuildProcessor build() {
-        buildListeners.add(buildListenerBuilder.build());
+        if (!buildListenerBuilder.isEmpty()) buildListeners.add(BuildListenerRegistration.unscoped(buildListenerBuilder.build()));
         processListeners.add(processListenerBuilder.build());
         return new BuildProcessor(
                 develocity,
@@ -499,9 +762,20 @@ public final class BuildProcessorBuilder {
                 backOffFactor,
                 retryLimit,
                 retryFactor,
+                listenerDispatch,
+                maxBufferedBuilds,
+                discoveryPartitions,
+                queryFilters.isEmpty() ? null : join(" and ", queryFilters),
+                conditionalBuildModels,
+                requiredBuildModels,
                 buildListeners,
                 processListeners
         );
     }
 
+    private static String quoteIfNecessary(String value) {
+        if (!value.isEmpty() && value.chars().noneMatch(it -> Character.isWhitespace(it) || it == '"' || it == '(' || it == ')')) return value;
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+
 }
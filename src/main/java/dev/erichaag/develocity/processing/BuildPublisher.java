@@ -0,0 +1,114 @@
+package dev.erichaag.develocity.processing;
+
+import dev.erichaag.develocity.api.Build;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+final class BuildPublisher implements Flow.Publisher<Build> {
+
+    private final Supplier<BuildIterator> iterators;
+
+    BuildPublisher(Supplier<BuildIterator> iterators) {
+        this.iterators = iterators;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Build> subscriber) {
+        requireNonNull(subscriber);
+        final var subscription = new BuildSubscription(subscriber, iterators.get());
+        subscriber.onSubscribe(subscription);
+        subscription.start();
+    }
+
+    private static final class BuildSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super Build> subscriber;
+        private final BuildIterator iterator;
+        private final AtomicLong demand = new AtomicLong();
+        // Held at one until onSubscribe has returned, so that demand signalled
+        // from within onSubscribe does not start draining concurrently with it
+        // (§1.3).
+        private final AtomicInteger pendingDrains = new AtomicInteger(1);
+
+        private volatile boolean done = false;
+        private volatile IllegalArgumentException invalidRequest;
+
+        BuildSubscription(Flow.Subscriber<? super Build> subscriber, BuildIterator iterator) {
+            this.subscriber = subscriber;
+            this.iterator = iterator;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Requested builds must be greater than 0 but was " + n);
+            } else {
+                demand.getAndUpdate(it -> it + n < 0 ? Long.MAX_VALUE : it + n);
+            }
+            if (pendingDrains.getAndIncrement() == 0) Thread.ofVirtual().start(this::drain);
+        }
+
+        void start() {
+            if (pendingDrains.decrementAndGet() != 0) Thread.ofVirtual().start(this::drain);
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+        }
+
+        private void drain() {
+            var missed = 1;
+            do {
+                if (done) return;
+                if (invalidRequest != null) {
+                    done = true;
+                    subscriber.onError(invalidRequest);
+                    return;
+                }
+                while (!done && demand.get() > 0) {
+                    if (!emitNext()) return;
+                    demand.decrementAndGet();
+                }
+                missed = pendingDrains.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private boolean emitNext() {
+            final boolean hasNext;
+            try {
+                // The outstanding demand caps the builds fetched per request,
+                // so a subscriber requesting one build at a time also makes
+                // one request per uncached build.
+                iterator.limitNextFetchTo(demand.get());
+                hasNext = iterator.hasNext();
+            } catch (RuntimeException e) {
+                done = true;
+                subscriber.onError(e);
+                return false;
+            }
+            if (!hasNext) {
+                done = true;
+                subscriber.onComplete();
+                return false;
+            }
+            try {
+                subscriber.onNext(iterator.next());
+            } catch (Throwable e) {
+                // A subscriber violating §2.13 by throwing is treated as if it
+                // had cancelled the subscription.
+                done = true;
+                subscriber.onError(e);
+                return false;
+            }
+            return true;
+        }
+
+    }
+
+}
@@ -0,0 +1,43 @@
+package dev.erichaag.develocity.processing;
+
+import dev.erichaag.develocity.api.Build;
+import dev.erichaag.develocity.processing.event.ProcessingFinishedEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+
+final class CollectingListener<A, R> implements BuildListener, ProcessListener {
+
+    private final Collector<? super Build, A, R> collector;
+    private final Consumer<? super R> onResult;
+    private final Map<Thread, A> containers = new ConcurrentHashMap<>();
+
+    CollectingListener(Collector<? super Build, A, R> collector, Consumer<? super R> onResult) {
+        this.collector = collector;
+        this.onResult = onResult;
+    }
+
+    /**
+     * Returns a listener accumulating into containers of its own. Each run
+     * of the processor uses its own instance, so runs never share containers.
+     */
+    CollectingListener<A, R> forRun() {
+        return new CollectingListener<>(collector, onResult);
+    }
+
+    @Override
+    public void onBuild(Build build) {
+        collector.accumulator().accept(containers.computeIfAbsent(Thread.currentThread(), __ -> collector.supplier().get()), build);
+    }
+
+    @Override
+    public void onProcessingFinished(ProcessingFinishedEvent event) {
+        final var combined = containers.values().stream()
+                .reduce(collector.combiner()::apply)
+                .orElseGet(collector.supplier());
+        onResult.accept(collector.finisher().apply(combined));
+    }
+
+}
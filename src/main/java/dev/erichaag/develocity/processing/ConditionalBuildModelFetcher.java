@@ -0,0 +1,51 @@
+package dev.erichaag.develocity.processing;
+
+import dev.erichaag.develocity.api.Build;
+import dev.erichaag.develocity.api.BuildModel;
+import dev.erichaag.develocity.api.DevelocityClient;
+import dev.erichaag.develocity.processing.cache.ProcessorCache;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+final class ConditionalBuildModelFetcher {
+
+    private final DevelocityClient develocity;
+    private final ProcessorCache processorCache;
+    private final List<ConditionalBuildModels> conditionalBuildModels;
+
+    ConditionalBuildModelFetcher(
+            DevelocityClient develocity,
+            ProcessorCache processorCache,
+            List<ConditionalBuildModels> conditionalBuildModels) {
+        this.develocity = develocity;
+        this.processorCache = processorCache;
+        this.conditionalBuildModels = conditionalBuildModels;
+    }
+
+    /**
+     * Returns the build with the build models of the conditions it matches,
+     * in addition to the build models it was loaded with, which are looked up
+     * only if it has to be fetched again.
+     */
+    Build fetchConditionalBuildModels(Build build, Function<Build, Set<BuildModel>> requiredBuildModels) {
+        if (conditionalBuildModels.isEmpty()) return build;
+        final var buildModels = new HashSet<BuildModel>();
+        conditionalBuildModels.stream()
+                .filter(it -> it.condition().test(build))
+                .forEach(it -> buildModels.addAll(it.buildModels()));
+        if (build.containsAllRelevantBuildModelsFrom(buildModels)) return build;
+        buildModels.addAll(requiredBuildModels.apply(build));
+        final var cachedBuild = processorCache.load(build.getId(), buildModels)
+                .filter(it -> it.containsAllRelevantBuildModelsFrom(buildModels));
+        if (cachedBuild.isPresent()) return cachedBuild.get();
+        // The build was discovered so it must exist
+        //noinspection OptionalGetWithoutIsPresent
+        final var fetchedBuild = develocity.getBuild(build.getId(), buildModels).get();
+        processorCache.save(fetchedBuild);
+        return fetchedBuild;
+    }
+
+}
@@ -0,0 +1,10 @@
+package dev.erichaag.develocity.processing;
+
+import dev.erichaag.develocity.api.Build;
+import dev.erichaag.develocity.api.BuildModel;
+
+import java.util.Set;
+import java.util.function.Predicate;
+
+record ConditionalBuildModels(Predicate<? super Build> condition, Set<BuildModel> buildModels) {
+}
@@ -0,0 +1,24 @@
+package dev.erichaag.develocity.processing;
+
+import java.time.Instant;
+
+/**
+ * A build found during the discovery phase of build processing.
+ *
+ * <p>Discovery does not request any build models, so only the basic build
+ * data returned by the API is available.
+ *
+ * @param id the ID of the build
+ * @param availableAt the instant the build became available
+ * @param buildToolType the type of build tool, for example {@code gradle}
+ * @param buildToolVersion the version of the build tool
+ * @param buildAgentVersion the version of the Develocity build agent
+ * @see DiscoveredBuilds
+ */
+public record DiscoveredBuild(
+        String id,
+        Instant availableAt,
+        String buildToolType,
+        String buildToolVersion,
+        String buildAgentVersion) {
+}
@@ -0,0 +1,306 @@
+package dev.erichaag.develocity.processing;
+
+import dev.erichaag.develocity.api.ApiBuild;
+import dev.erichaag.develocity.api.Build;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.time.Instant.ofEpochMilli;
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * The builds found during the discovery phase of build processing, ordered
+ * from the most recently available build to the least recently available
+ * build. Builds discovered in several partitions that are available at the
+ * same time may be ordered differently from how the server orders them.
+ *
+ * <p>Builds are stored in a compact form rather than as {@link Build}
+ * instances, so that discovering millions of builds does not require holding
+ * all of their API responses in memory. Build IDs are packed as fixed-width
+ * ASCII bytes into a single array instead of being held as one string per
+ * build. Each build is exposed as a {@link DiscoveredBuild} when iterated.
+ *
+ * @see DiscoveredBuild
+ */
+public final class DiscoveredBuilds implements Iterable<DiscoveredBuild> {
+
+    private static final int initialCapacity = 1_024;
+    private static final int packedIdLength = 13;
+
+    private final StringTable buildToolTypeTable = new StringTable();
+    private final StringTable versionTable = new StringTable();
+
+    private final Map<Integer, String> unpackedIds = new HashMap<>();
+
+    private byte[] packedIds = new byte[initialCapacity * packedIdLength];
+    private long[] availableAt = new long[initialCapacity];
+    private byte[] buildToolTypes = new byte[initialCapacity];
+    private int[] buildToolVersions = new int[initialCapacity];
+    private int[] buildAgentVersions = new int[initialCapacity];
+    private int size = 0;
+
+    DiscoveredBuilds() {
+    }
+
+    static DiscoveredBuilds merge(List<DiscoveredBuilds> discoveredBuilds) {
+        // The server's order of builds available at the same time is unknown,
+        // so they are ordered by partition. Builds are loaded by ID rather than
+        // by position, which keeps processing correct regardless.
+        final var merged = new DiscoveredBuilds();
+        final var positions = new int[discoveredBuilds.size()];
+        final var mergedIndexesAvailableAtSameTime = new ArrayList<Integer>();
+        while (true) {
+            var next = -1;
+            for (var i = 0; i < positions.length; i++) {
+                if (positions[i] == discoveredBuilds.get(i).size) continue;
+                if (next == -1 || discoveredBuilds.get(i).availableAt[positions[i]] > discoveredBuilds.get(next).availableAt[positions[next]]) next = i;
+            }
+            if (next == -1) return merged;
+            final var source = discoveredBuilds.get(next);
+            final var index = positions[next]++;
+            // A build discovered by several partitions is always available at the same time in each of them
+            if (!merged.isEmpty() && merged.availableAt[merged.size - 1] != source.availableAt[index]) {
+                mergedIndexesAvailableAtSameTime.clear();
+            }
+            if (mergedIndexesAvailableAtSameTime.stream().noneMatch(it -> merged.hasSameId(it, source, index))) {
+                mergedIndexesAvailableAtSameTime.add(merged.size);
+                merged.add(source, index);
+            }
+        }
+    }
+
+    void add(Build build) {
+        final var apiBuild = build.getBuild();
+        final var index = add(apiBuild.getAvailableAt(),
+                apiBuild.getBuildToolType(),
+                apiBuild.getBuildToolVersion(),
+                apiBuild.getBuildAgentVersion());
+        final var id = apiBuild.getId();
+        if (isPackable(id)) {
+            for (var i = 0; i < packedIdLength; i++) packedIds[index * packedIdLength + i] = (byte) id.charAt(i);
+        } else {
+            unpackedIds.put(index, id);
+        }
+    }
+
+    private void add(DiscoveredBuilds source, int sourceIndex) {
+        final var index = add(source.availableAt[sourceIndex],
+                source.buildToolTypeTable.get(source.buildToolTypes[sourceIndex]),
+                source.versionTable.get(source.buildToolVersions[sourceIndex]),
+                source.versionTable.get(source.buildAgentVersions[sourceIndex]));
+        if (source.unpackedIds.containsKey(sourceIndex)) {
+            unpackedIds.put(index, source.unpackedIds.get(sourceIndex));
+        } else {
+            System.arraycopy(source.packedIds, sourceIndex * packedIdLength, packedIds, index * packedIdLength, packedIdLength);
+        }
+    }
+
+    private int add(long availableAt, String buildToolType, String buildToolVersion, String buildAgentVersion) {
+        if (size == this.availableAt.length) grow();
+        final var buildToolTypeIndex = buildToolTypeTable.indexOf(buildToolType);
+        if (buildToolTypeIndex > Byte.MAX_VALUE) throw new IllegalStateException("Too many build tool types");
+        this.availableAt[size] = availableAt;
+        this.buildToolTypes[size] = (byte) buildToolTypeIndex;
+        this.buildToolVersions[size] = versionTable.indexOf(buildToolVersion);
+        this.buildAgentVersions[size] = versionTable.indexOf(buildAgentVersion);
+        return size++;
+    }
+
+    private void grow() {
+        final var capacity = availableAt.length * 2;
+        packedIds = Arrays.copyOf(packedIds, capacity * packedIdLength);
+        availableAt = Arrays.copyOf(availableAt, capacity);
+        buildToolTypes = Arrays.copyOf(buildToolTypes, capacity);
+        buildToolVersions = Arrays.copyOf(buildToolVersions, capacity);
+        buildAgentVersions = Arrays.copyOf(buildAgentVersions, capacity);
+    }
+
+    /**
+     * Returns the number of discovered builds.
+     *
+     * @return the number of discovered builds
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether no builds were discovered.
+     *
+     * @return {@code true} if no builds were discovered
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of discovered builds per build tool type, for example
+     * {@code gradle} or {@code maven}.
+     *
+     * @return the number of discovered builds keyed by build tool type
+     */
+    public Map<String, Integer> countByBuildToolType() {
+        final var counts = new HashMap<String, Integer>();
+        for (var i = 0; i < size; i++) {
+            counts.merge(buildToolTypeTable.get(buildToolTypes[i]), 1, Integer::sum);
+        }
+        return unmodifiableMap(counts);
+    }
+
+    /**
+     * Returns the discovered build at the given position.
+     *
+     * @param index the position of the build
+     * @return the discovered build
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public DiscoveredBuild get(int index) {
+        checkIndex(index);
+        return new DiscoveredBuild(
+                id(index),
+                ofEpochMilli(availableAt[index]),
+                buildToolTypeTable.get(buildToolTypes[index]),
+                versionTable.get(buildToolVersions[index]),
+                versionTable.get(buildAgentVersions[index]));
+    }
+
+    /**
+     * Returns whether the given build was discovered. Builds are ordered by
+     * when they became available, so only the builds available at the same
+     * time as the given build are compared with it.
+     */
+    boolean contains(Build build) {
+        final var buildAvailableAt = build.getAvailableAt().toEpochMilli();
+        var low = 0;
+        var high = size;
+        while (low < high) {
+            final var middle = (low + high) >>> 1;
+            if (availableAt[middle] > buildAvailableAt) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        for (var i = low; i < size && availableAt[i] == buildAvailableAt; i++) {
+            if (hasId(i, build.getId())) return true;
+        }
+        return false;
+    }
+
+    String getId(int index) {
+        checkIndex(index);
+        return id(index);
+    }
+
+    Instant getAvailableAt(int index) {
+        checkIndex(index);
+        return ofEpochMilli(availableAt[index]);
+    }
+
+    Build getBuild(int index) {
+        checkIndex(index);
+        return Build.from(new ApiBuild()
+                .id(id(index))
+                .availableAt(availableAt[index])
+                .buildToolType(buildToolTypeTable.get(buildToolTypes[index]))
+                .buildToolVersion(versionTable.get(buildToolVersions[index]))
+                .buildAgentVersion(versionTable.get(buildAgentVersions[index])));
+    }
+
+    private String id(int index) {
+        final var unpackedId = unpackedIds.get(index);
+        if (unpackedId != null) return unpackedId;
+        return new String(packedIds, index * packedIdLength, packedIdLength, US_ASCII);
+    }
+
+    private boolean hasSameId(int index, DiscoveredBuilds other, int otherIndex) {
+        if (unpackedIds.containsKey(index) || other.unpackedIds.containsKey(otherIndex)) {
+            return Objects.equals(unpackedIds.get(index), other.unpackedIds.get(otherIndex));
+        }
+        return Arrays.equals(
+                packedIds, index * packedIdLength, (index + 1) * packedIdLength,
+                other.packedIds, otherIndex * packedIdLength, (otherIndex + 1) * packedIdLength);
+    }
+
+    private boolean hasId(int index, String id) {
+        final var unpackedId = unpackedIds.get(index);
+        if (unpackedId != null) return unpackedId.equals(id);
+        if (!isPackable(id)) return false;
+        for (var i = 0; i < packedIdLength; i++) {
+            if (packedIds[index * packedIdLength + i] != (byte) id.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private static boolean isPackable(String id) {
+        if (id == null || id.length() != packedIdLength) return false;
+        for (var i = 0; i < packedIdLength; i++) {
+            if (id.charAt(i) > 0x7F) return false;
+        }
+        return true;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+    }
+
+    /**
+     * Returns a sequential stream over the discovered builds.
+     *
+     * @return a stream of the discovered builds
+     */
+    public Stream<DiscoveredBuild> stream() {
+        return IntStream.range(0, size).mapToObj(this::get);
+    }
+
+    @Override
+    public Iterator<DiscoveredBuild> iterator() {
+        return new Iterator<>() {
+
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public DiscoveredBuild next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return get(next++);
+            }
+
+        };
+    }
+
+    private static final class StringTable {
+
+        private final List<String> values = new ArrayList<>();
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        int indexOf(String value) {
+            if (value == null) return -1;
+            return indexes.computeIfAbsent(value, __ -> {
+                values.add(value);
+                return values.size() - 1;
+            });
+        }
+
+        String get(int index) {
+            return index == -1 ? null : values.get(index);
+        }
+
+    }
+
+}
@@ -0,0 +1,35 @@
+package dev.erichaag.develocity.processing;
+
+/**
+ * Determines how builds are handed to the registered {@link BuildListener}s
+ * during processing.
+ *
+ * @see BuildProcessorBuilder#withListenerDispatch(ListenerDispatch)
+ */
+public enum ListenerDispatch {
+
+    /**
+     * Listeners are invoked one after another on the thread fetching builds.
+     * This is the default.
+     */
+    SERIAL,
+
+    /**
+     * Each listener consumes builds from its own queue on a dedicated virtual
+     * thread. Builds are received in the same order as with {@link #SERIAL},
+     * but a slow listener no longer delays fetching or other listeners until
+     * the buffered builds limit shared by all queues is reached, see
+     * {@link BuildProcessorBuilder#withMaxBufferedBuilds(int)}.
+     */
+    ORDERED,
+
+    /**
+     * Each listener consumes builds from its own queue using one virtual
+     * thread per available processor, so every registered listener adds that
+     * many virtual threads. As with {@link #ORDERED}, the queues share one
+     * buffered builds limit. Builds may be received in any order and
+     * concurrently, so listeners must be thread-safe.
+     */
+    UNORDERED,
+
+}
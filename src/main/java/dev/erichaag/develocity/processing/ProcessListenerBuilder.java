@@ -46,39 +46,7 @@ public final class ProcessListenerBuilder {
      * @return a new {@link ProcessListener} instance
      */
     public ProcessListener build() {
-        return new ProcessListener() {
-
-            @Override
-            public void onCachedBuild(CachedBuildEvent event) {
-                listeners.forEach(it -> it.onCachedBuild(event));
-            }
-
-            @Override
-            public void onFetchedBuild(FetchedBuildEvent event) {
-                listeners.forEach(it -> it.onFetchedBuild(event));
-            }
-
-            @Override
-            public void onDiscoveryStarted(DiscoveryStartedEvent event) {
-                listeners.forEach(it -> it.onDiscoveryStarted(event));
-            }
-
-            @Override
-            public void onDiscoveryFinished(DiscoveryFinishedEvent event) {
-                listeners.forEach(it -> it.onDiscoveryFinished(event));
-            }
-
-            @Override
-            public void onProcessingStarted(ProcessingStartedEvent event) {
-                listeners.forEach(it -> it.onProcessingStarted(event));
-            }
-
-            @Override
-            public void onProcessingFinished(ProcessingFinishedEvent event) {
-                listeners.forEach(it -> it.onProcessingFinished(event));
-            }
-
-        };
+        return new CompositeProcessListener(listeners);
     }
 
     /**
@@ -181,4 +149,48 @@ public final class ProcessListenerBuilder {
         return this;
     }
 
+    static final class CompositeProcessListener implements ProcessListener {
+
+        private final List<ProcessListener> listeners;
+
+        private CompositeProcessListener(List<ProcessListener> listeners) {
+            this.listeners = listeners;
+        }
+
+        List<ProcessListener> listeners() {
+            return listeners;
+        }
+
+        @Override
+        public void onCachedBuild(CachedBuildEvent event) {
+            listeners.forEach(it -> it.onCachedBuild(event));
+        }
+
+        @Override
+        public void onFetchedBuild(FetchedBuildEvent event) {
+            listeners.forEach(it -> it.onFetchedBuild(event));
+        }
+
+        @Override
+        public void onDiscoveryStarted(DiscoveryStartedEvent event) {
+            listeners.forEach(it -> it.onDiscoveryStarted(event));
+        }
+
+        @Override
+        public void onDiscoveryFinished(DiscoveryFinishedEvent event) {
+            listeners.forEach(it -> it.onDiscoveryFinished(event));
+        }
+
+        @Override
+        public void onProcessingStarted(ProcessingStartedEvent event) {
+            listeners.forEach(it -> it.onProcessingStarted(event));
+        }
+
+        @Override
+        public void onProcessingFinished(ProcessingFinishedEvent event) {
+            listeners.forEach(it -> it.onProcessingFinished(event));
+        }
+
+    }
+
 }
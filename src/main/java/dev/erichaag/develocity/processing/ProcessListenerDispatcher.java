@@ -0,0 +1,108 @@
+package dev.erichaag.develocity.processing;
+
+import dev.erichaag.develocity.api.Build;
+import dev.erichaag.develocity.processing.event.CachedBuildEvent;
+import dev.erichaag.develocity.processing.event.DiscoveryFinishedEvent;
+import dev.erichaag.develocity.processing.event.DiscoveryStartedEvent;
+import dev.erichaag.develocity.processing.event.FetchedBuildEvent;
+import dev.erichaag.develocity.processing.event.ProcessingFinishedEvent;
+import dev.erichaag.develocity.processing.event.ProcessingStartedEvent;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Notifies process listeners of processing events.
+ *
+ * <p>Each event is only sent to the listeners that override its callback, and
+ * is neither created nor timestamped if there are none. Listeners created by a
+ * {@link ProcessListenerBuilder} are unwrapped into their individual callbacks
+ * first, so the per-build callbacks cost nothing unless one is registered.
+ */
+final class ProcessListenerDispatcher {
+
+    private final ProcessListener[] onCachedBuild;
+    private final ProcessListener[] onFetchedBuild;
+    private final ProcessListener[] onDiscoveryStarted;
+    private final ProcessListener[] onDiscoveryFinished;
+    private final ProcessListener[] onProcessingStarted;
+    private final ProcessListener[] onProcessingFinished;
+    private final Clock clock;
+
+    ProcessListenerDispatcher(List<ProcessListener> processListeners) {
+        this(processListeners, Clock.systemUTC());
+    }
+
+    ProcessListenerDispatcher(List<ProcessListener> processListeners, Clock clock) {
+        final var listeners = new ArrayList<ProcessListener>();
+        processListeners.forEach(it -> unwrap(it, listeners));
+        this.onCachedBuild = overriding(listeners, "onCachedBuild", CachedBuildEvent.class);
+        this.onFetchedBuild = overriding(listeners, "onFetchedBuild", FetchedBuildEvent.class);
+        this.onDiscoveryStarted = overriding(listeners, "onDiscoveryStarted", DiscoveryStartedEvent.class);
+        this.onDiscoveryFinished = overriding(listeners, "onDiscoveryFinished", DiscoveryFinishedEvent.class);
+        this.onProcessingStarted = overriding(listeners, "onProcessingStarted", ProcessingStartedEvent.class);
+        this.onProcessingFinished = overriding(listeners, "onProcessingFinished", ProcessingFinishedEvent.class);
+        this.clock = clock;
+    }
+
+    void discoveryStarted(Instant since) {
+        if (onDiscoveryStarted.length == 0) return;
+        final var event = new DiscoveryStartedEvent(clock.instant(), since);
+        for (final var listener : onDiscoveryStarted) listener.onDiscoveryStarted(event);
+    }
+
+    void discoveryFinished(DiscoveredBuilds builds) {
+        if (onDiscoveryFinished.length == 0) return;
+        final var event = new DiscoveryFinishedEvent(clock.instant(), builds);
+        for (final var listener : onDiscoveryFinished) listener.onDiscoveryFinished(event);
+    }
+
+    void processingStarted() {
+        if (onProcessingStarted.length == 0) return;
+        final var event = new ProcessingStartedEvent(clock.instant());
+        for (final var listener : onProcessingStarted) listener.onProcessingStarted(event);
+    }
+
+    void processingFinished() {
+        if (onProcessingFinished.length == 0) return;
+        final var event = new ProcessingFinishedEvent(clock.instant());
+        for (final var listener : onProcessingFinished) listener.onProcessingFinished(event);
+    }
+
+    void cachedBuild(Build build) {
+        if (onCachedBuild.length == 0) return;
+        final var event = new CachedBuildEvent(clock.instant(), build);
+        for (final var listener : onCachedBuild) listener.onCachedBuild(event);
+    }
+
+    void fetchedBuild(Build build) {
+        if (onFetchedBuild.length == 0) return;
+        final var event = new FetchedBuildEvent(clock.instant(), build);
+        for (final var listener : onFetchedBuild) listener.onFetchedBuild(event);
+    }
+
+    private static void unwrap(ProcessListener listener, List<ProcessListener> listeners) {
+        if (listener instanceof ProcessListenerBuilder.CompositeProcessListener composite) {
+            composite.listeners().forEach(it -> unwrap(it, listeners));
+        } else {
+            listeners.add(listener);
+        }
+    }
+
+    private static ProcessListener[] overriding(List<ProcessListener> listeners, String callback, Class<?> eventType) {
+        return listeners.stream()
+                .filter(it -> overrides(it, callback, eventType))
+                .toArray(ProcessListener[]::new);
+    }
+
+    private static boolean overrides(ProcessListener listener, String callback, Class<?> eventType) {
+        try {
+            return listener.getClass().getMethod(callback, eventType).getDeclaringClass() != ProcessListener.class;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
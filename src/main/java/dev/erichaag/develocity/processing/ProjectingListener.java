@@ -0,0 +1,36 @@
+package dev.erichaag.develocity.processing;
+
+import dev.erichaag.develocity.api.Build;
+import dev.erichaag.develocity.api.BuildModel;
+import dev.erichaag.develocity.api.ProjectedBuild;
+import dev.erichaag.develocity.api.Projection;
+
+import java.util.Set;
+import java.util.function.Consumer;
+
+final class ProjectingListener implements BuildListener {
+
+    private final Projection projection;
+    private final Consumer<? super ProjectedBuild> onProjectedBuild;
+
+    ProjectingListener(Projection projection, Consumer<? super ProjectedBuild> onProjectedBuild) {
+        this.projection = projection;
+        this.onProjectedBuild = onProjectedBuild;
+    }
+
+    @Override
+    public Set<BuildModel> getRequiredBuildModels() {
+        return projection.getBuildModels();
+    }
+
+    @Override
+    public boolean isInterestedIn(Build build) {
+        return projection.appliesTo(build);
+    }
+
+    @Override
+    public void onBuild(Build build) {
+        onProjectedBuild.accept(projection.project(build));
+    }
+
+}
@@ -0,0 +1,75 @@
+package dev.erichaag.develocity.processing;
+
+import dev.erichaag.develocity.api.Build;
+import dev.erichaag.develocity.api.DevelocityClientException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static java.lang.Math.max;
+import static java.lang.Math.pow;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+final class RetryAndBackOff {
+
+    private final int maxBuildsPerRequest;
+    private final int backOffLimit;
+    private final double backOffFactor;
+    private final int retryLimit;
+    private final double retryFactor;
+
+    // Shared by the threads discovering partitions concurrently
+    private final AtomicInteger backOff = new AtomicInteger();
+
+    RetryAndBackOff(int maxBuildsPerRequest, int backOffLimit, double backOffFactor, int retryLimit, double retryFactor) {
+        this.maxBuildsPerRequest = maxBuildsPerRequest;
+        this.backOffLimit = backOffLimit;
+        this.backOffFactor = backOffFactor;
+        this.retryLimit = retryLimit;
+        this.retryFactor = retryFactor;
+    }
+
+    int currentMaxBuildsPerRequest() {
+        return max(1, (int) (maxBuildsPerRequest * pow(backOffFactor, backOff.get())));
+    }
+
+    int backOff() {
+        return backOff.get();
+    }
+
+    List<Build> getBuilds(Supplier<List<Build>> getBuilds) {
+        final var exceptions = new ArrayList<RuntimeException>();
+        do {
+            try {
+                return getBuilds.get();
+            } catch (RuntimeException e) {
+                if (e instanceof DevelocityClientException dce) {
+                    if (dce.getStatusCode() == 429 || dce.getStatusCode() == 503) {
+                        if (exceptions.size() < retryLimit) sleep((int) (1_000 * pow(retryFactor, exceptions.size())));
+                        exceptions.add(e);
+                    } else if (dce.getStatusCode() == 504) {
+                        if (backOff.incrementAndGet() > backOffLimit) throw new BackOffLimitExceededException(backOffLimit);
+                        return emptyList();
+                    } else {
+                        throw e;
+                    }
+                } else {
+                    throw e;
+                }
+            }
+        } while (exceptions.size() <= retryLimit);
+        throw new RetryLimitExceededException(retryLimit, exceptions.getLast());
+    }
+
+    private static void sleep(int milliseconds) {
+        try {
+            MILLISECONDS.sleep(milliseconds);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+}
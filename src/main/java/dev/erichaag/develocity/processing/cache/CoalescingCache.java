@@ -0,0 +1,37 @@
+package dev.erichaag.develocity.processing.cache;
+
+import dev.erichaag.develocity.api.Build;
+import dev.erichaag.develocity.api.BuildModel;
+import dev.erichaag.develocity.api.SingleFlight;
+
+import java.util.Optional;
+import java.util.Set;
+
+public final class CoalescingCache implements ProcessorCache {
+
+    private final ProcessorCache cache;
+    private final SingleFlight<LoadRequest, Optional<Build>> inFlightLoads = new SingleFlight<>();
+
+    private CoalescingCache(ProcessorCache cache) {
+        this.cache = cache;
+    }
+
+    public static CoalescingCache wrapping(ProcessorCache cache) {
+        return new CoalescingCache(cache);
+    }
+
+    @Override
+    public Optional<Build> load(String id, Set<BuildModel> requiredBuildModels) {
+        final var key = new LoadRequest(id, requiredBuildModels == null ? Set.of() : Set.copyOf(requiredBuildModels));
+        return inFlightLoads.run(key, () -> cache.load(id, requiredBuildModels));
+    }
+
+    @Override
+    public void save(Build build) {
+        cache.save(build);
+    }
+
+    private record LoadRequest(String id, Set<BuildModel> requiredBuildModels) {
+    }
+
+}
@@ -1,10 +1,14 @@
 package dev.erichaag.develocity.processing.cache;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import dev.erichaag.develocity.api.ApiBuild;
 import dev.erichaag.develocity.api.Build;
 import dev.erichaag.develocity.api.BuildModel;
+import dev.erichaag.develocity.api.DevelocityApiModule;
+import dev.erichaag.develocity.api.LazyBuildModelsModule;
+import dev.erichaag.develocity.api.StringInterningModule;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -19,20 +23,38 @@ public final class FileSystemCache implements ProcessorCache {
     private static final int defaultGranularity = 2;
     private static final Path defaultRootDirectory = Path.of(System.getProperty("user.home"))
             .resolve(".develocity-build-processor");
-    private static final ObjectMapper objectMapper = new JsonMapper();
 
     private final FileSystemCacheStrategy fileSystemCacheStrategy;
+    private final boolean lazyBuildModels;
+    private final boolean internStrings;
+    private final ObjectReader buildReader;
+    private final ObjectWriter buildWriter;
 
-    private FileSystemCache(FileSystemCacheStrategy fileSystemCacheStrategy) {
+    private FileSystemCache(FileSystemCacheStrategy fileSystemCacheStrategy, boolean lazyBuildModels, boolean internStrings) {
         this.fileSystemCacheStrategy = fileSystemCacheStrategy;
+        this.lazyBuildModels = lazyBuildModels;
+        this.internStrings = internStrings;
+        final var objectMapper = new JsonMapper().registerModule(new DevelocityApiModule());
+        if (lazyBuildModels) objectMapper.registerModule(new LazyBuildModelsModule());
+        if (internStrings) objectMapper.registerModule(new StringInterningModule());
+        this.buildReader = objectMapper.readerFor(ApiBuild.class);
+        this.buildWriter = objectMapper.writerFor(ApiBuild.class);
     }
 
     public static FileSystemCache withDefaultStrategy() {
-        return new FileSystemCache(new PartitioningFileSystemCacheStrategy(defaultRootDirectory, defaultGranularity));
+        return withStrategy(new PartitioningFileSystemCacheStrategy(defaultRootDirectory, defaultGranularity));
     }
 
     public static FileSystemCache withStrategy(FileSystemCacheStrategy strategy) {
-        return new FileSystemCache(strategy);
+        return new FileSystemCache(strategy, false, false);
+    }
+
+    public FileSystemCache withLazyBuildModels() {
+        return new FileSystemCache(fileSystemCacheStrategy, true, internStrings);
+    }
+
+    public FileSystemCache withStringInterning() {
+        return new FileSystemCache(fileSystemCacheStrategy, lazyBuildModels, true);
     }
 
     @Override
@@ -40,7 +62,7 @@ public final class FileSystemCache implements ProcessorCache {
         final var cachedBuildFile = fileSystemCacheStrategy.getPath(id).toFile();
         try {
             if (cachedBuildFile.exists()) {
-                return Optional.of(objectMapper.readValue(cachedBuildFile, ApiBuild.class))
+                return Optional.of(buildReader.<ApiBuild>readValue(cachedBuildFile))
                         .map(Build::from)
                         .filter(it -> it.containsAllRelevantBuildModelsFrom(requiredBuildModels));
             }
@@ -57,7 +79,7 @@ public final class FileSystemCache implements ProcessorCache {
         //noinspection ResultOfMethodCallIgnored
         cachedBuildFile.getParentFile().mkdirs();
         try {
-            Files.write(cachedBuildFile.toPath(), objectMapper.writeValueAsBytes(build.getBuild()));
+            Files.write(cachedBuildFile.toPath(), buildWriter.writeValueAsBytes(build.getBuild()));
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
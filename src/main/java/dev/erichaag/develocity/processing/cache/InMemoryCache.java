@@ -3,12 +3,10 @@ package dev.erichaag.develocity.processing.cache;
 import dev.erichaag.develocity.api.Build;
 import dev.erichaag.develocity.api.BuildModel;
 
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 import static java.util.Optional.ofNullable;
 
@@ -16,13 +14,17 @@ public final class InMemoryCache implements ProcessorCache {
 
     private static final int defaultMaxCacheSize = 10_000;
 
-    private final Map<String, Build> buildsById = new ConcurrentHashMap<>();
-    private final Queue<Build> buildQueue = new LinkedList<>();
-    private final int maxCacheSize;
+    private final Map<String, Build> buildsById;
 
     private InMemoryCache(int maxCacheSize) {
         if (maxCacheSize < 1) throw new IllegalArgumentException("Maximum cache size must be greater than 0");
-        this.maxCacheSize = maxCacheSize;
+        // Access ordered, so the least recently used build is evicted first
+        this.buildsById = new LinkedHashMap<>(16, .75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Build> eldest) {
+                return size() > maxCacheSize;
+            }
+        };
     }
 
     public static InMemoryCache withDefaultSize() {
@@ -34,21 +36,13 @@ public final class InMemoryCache implements ProcessorCache {
     }
 
     @Override
-    public Optional<Build> load(String id, Set<BuildModel> requiredBuildModels) {
-        final var build = ofNullable(buildsById.get(id)).filter(it -> it.containsAllRelevantBuildModelsFrom(requiredBuildModels));
-        if (build.isPresent()) {
-            buildQueue.remove(build.get());
-            buildQueue.add(build.get());
-        }
-        return build;
+    public synchronized Optional<Build> load(String id, Set<BuildModel> requiredBuildModels) {
+        return ofNullable(buildsById.get(id)).filter(it -> it.containsAllRelevantBuildModelsFrom(requiredBuildModels));
     }
 
     @Override
-    public void save(Build build) {
-        if (buildsById.containsKey(build.getId())) buildQueue.remove(build);
+    public synchronized void save(Build build) {
         buildsById.put(build.getId(), build);
-        buildQueue.add(build);
-        if (buildQueue.size() > maxCacheSize) buildsById.remove(buildQueue.remove().getId());
     }
 
 }
@@ -1,10 +1,13 @@
 package dev.erichaag.develocity.processing.event;
 
-import dev.erichaag.develocity.api.Build;
+import dev.erichaag.develocity.processing.DiscoveredBuilds;
 
 import java.time.Instant;
-import java.util.List;
 
-public record DiscoveryFinishedEvent(Instant triggeredAt, List<Build> builds) implements BuildProcessorEvent {
+public record DiscoveryFinishedEvent(Instant triggeredAt, DiscoveredBuilds builds) implements BuildProcessorEvent {
+
+    public int count() {
+        return builds.size();
+    }
 
 }
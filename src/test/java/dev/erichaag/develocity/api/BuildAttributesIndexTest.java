@@ -0,0 +1,73 @@
+package dev.erichaag.develocity.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class BuildAttributesIndexTest {
+
+    @Test
+    void givenNullValuesAndTags_whenIndexed_thenNoValuesOrTagsAreFound() {
+        final var index = new BuildAttributesIndex(null, null);
+        assertEquals(List.of(), index.values());
+        assertEquals(List.of(), index.values("Git branch"));
+        assertFalse(index.hasValue("Git branch"));
+        assertFalse(index.hasTag("CI"));
+    }
+
+    @Test
+    void givenEmptyValuesAndTags_whenIndexed_thenNoValuesOrTagsAreFound() {
+        final var index = new BuildAttributesIndex(List.of(), List.of());
+        assertEquals(List.of(), index.values());
+        assertEquals(List.of(), index.values("Git branch"));
+        assertFalse(index.hasValue("Git branch"));
+        assertFalse(index.hasTag("CI"));
+    }
+
+    @Test
+    void givenValuesWithSameName_whenIndexed_thenValuesAreGroupedByNameInOrder() {
+        final var index = new BuildAttributesIndex(List.of(
+                value("Git branch", "main"),
+                value("Git commit id", "abc123"),
+                value("Git branch", "release")), null);
+        assertEquals(List.of(new Value("Git branch", "main"), new Value("Git commit id", "abc123"), new Value("Git branch", "release")), index.values());
+        assertEquals(List.of("main", "release"), index.values("Git branch"));
+        assertEquals(List.of("abc123"), index.values("Git commit id"));
+        assertTrue(index.hasValue("Git branch"));
+        assertFalse(index.hasValue("CI provider"));
+    }
+
+    @Test
+    void givenValueWithNullValue_whenIndexed_thenNameIsStillIndexed() {
+        final var index = new BuildAttributesIndex(List.of(value("Git dirty", null)), null);
+        assertTrue(index.hasValue("Git dirty"));
+        assertEquals(List.of(new Value("Git dirty", null)), index.values());
+        assertEquals(1, index.values("Git dirty").size());
+    }
+
+    @Test
+    void givenTags_whenIndexed_thenOnlyThoseTagsAreFound() {
+        final var index = new BuildAttributesIndex(null, List.of("CI", "Linux", "CI"));
+        assertTrue(index.hasTag("CI"));
+        assertTrue(index.hasTag("Linux"));
+        assertFalse(index.hasTag("ci"));
+        assertFalse(index.hasTag("main"));
+    }
+
+    @Test
+    void givenIndexedValues_whenModified_thenExceptionIsThrown() {
+        final var index = new BuildAttributesIndex(List.of(value("Git branch", "main")), null);
+        assertThrows(UnsupportedOperationException.class, () -> index.values().add(new Value("Git branch", "release")));
+        assertThrows(UnsupportedOperationException.class, () -> index.values("Git branch").add("release"));
+    }
+
+    private static BuildAttributesValue value(String name, String value) {
+        return new BuildAttributesValue().name(name).value(value);
+    }
+
+}
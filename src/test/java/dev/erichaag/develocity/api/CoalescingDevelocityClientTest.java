@@ -0,0 +1,142 @@
+package dev.erichaag.develocity.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static dev.erichaag.develocity.api.BuildModel.GRADLE_ATTRIBUTES;
+import static dev.erichaag.develocity.api.Builds.gradle;
+import static dev.erichaag.develocity.api.Builds.gradleAttributes;
+import static java.lang.Thread.State.WAITING;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class CoalescingDevelocityClientTest {
+
+    private static final String id = "foobarbazqux1";
+
+    @Test
+    void givenNullBuildModels_whenBuildRequested_thenWrappedClientIsCalled() {
+        final var build = gradle(id, gradleAttributes());
+        final var develocity = CoalescingDevelocityClient.wrapping(DevelocityClientStub.withBuilds(build));
+        assertEquals(Optional.of(build), develocity.getBuild(id, (Set<BuildModel>) null));
+    }
+
+    @Test
+    void givenRequestInFlight_whenWrappedClientThrowsError_thenCoalescedRequestsFailWithError() throws InterruptedException {
+        final var error = new AssertionError("request failed");
+        final var slowClient = new SlowClient(error);
+        final var develocity = CoalescingDevelocityClient.wrapping(slowClient);
+        final var failures = new ConcurrentLinkedQueue<Throwable>();
+        final var firstRequest = startRequest(develocity, failures);
+        while (slowClient.requests.get() == 0) Thread.onSpinWait();
+        final var coalescedRequest = startRequest(develocity, failures);
+        while (coalescedRequest.getState() != WAITING) Thread.onSpinWait();
+        slowClient.release.countDown();
+        assertTrue(firstRequest.join(Duration.ofSeconds(5)) && coalescedRequest.join(Duration.ofSeconds(5)), "Expected coalesced requests to finish");
+        assertEquals(1, slowClient.requests.get());
+        assertEquals(List.of(error, error), List.copyOf(failures));
+    }
+
+    @Test
+    void givenPageInFlight_whenOverlappingPageRequested_thenOnlyBuildsNotInFlightAreRequested() throws InterruptedException {
+        final var builds = List.<Build>of(gradle("a"), gradle("b"), gradle("c"), gradle("d"));
+        final var pagingClient = new PagingClient(builds);
+        final var develocity = CoalescingDevelocityClient.wrapping(pagingClient);
+        final var firstPage = new AtomicReference<List<Build>>();
+        final var secondPage = new AtomicReference<List<Build>>();
+        final var firstRequest = Thread.ofPlatform().start(() -> firstPage.set(develocity.getBuildPage(null, null, List.of("a", "b", "c"), Set.of(GRADLE_ATTRIBUTES))));
+        while (pagingClient.requests.isEmpty()) Thread.onSpinWait();
+        final var secondRequest = Thread.ofPlatform().start(() -> secondPage.set(develocity.getBuildPage(null, "a", List.of("b", "c", "d"), Set.of(GRADLE_ATTRIBUTES))));
+        while (secondRequest.getState() != WAITING) Thread.onSpinWait();
+        pagingClient.release.countDown();
+        assertTrue(firstRequest.join(Duration.ofSeconds(5)) && secondRequest.join(Duration.ofSeconds(5)), "Expected coalesced pages to finish");
+        assertEquals(List.of("null:3", "c:1"), List.copyOf(pagingClient.requests));
+        assertEquals(builds.subList(0, 3), firstPage.get());
+        assertEquals(builds.subList(1, 4), secondPage.get());
+    }
+
+    @Test
+    void givenPageWithoutSomeBuilds_whenRequested_thenMissingBuildsAreLeftOut() {
+        final var develocity = CoalescingDevelocityClient.wrapping(DevelocityClientStub.withBuilds(gradle("a"), gradle("c")));
+        assertEquals(List.of("a", "c"), develocity.getBuildPage(null, null, List.of("a", "b", "c"), Set.of(GRADLE_ATTRIBUTES)).stream().map(Build::getId).toList());
+    }
+
+    private static Thread startRequest(DevelocityClient develocity, Queue<Throwable> failures) {
+        return Thread.ofPlatform().start(() -> {
+            try {
+                develocity.getBuild(id, GRADLE_ATTRIBUTES);
+            } catch (Throwable e) {
+                failures.add(e);
+            }
+        });
+    }
+
+    private static final class PagingClient implements DevelocityClient {
+
+        private final DevelocityClient develocity;
+        private final Queue<String> requests = new ConcurrentLinkedQueue<>();
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        private PagingClient(List<Build> builds) {
+            this.develocity = DevelocityClientStub.withBuilds(new ArrayList<>(builds));
+        }
+
+        @Override
+        public Optional<Build> getBuild(String id, Set<BuildModel> buildModels) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Build> getBuilds(String query, Integer maxBuilds, String fromBuild, Set<BuildModel> buildModels) {
+            final var firstRequest = requests.isEmpty();
+            requests.add(fromBuild + ":" + maxBuilds);
+            try {
+                if (firstRequest) release.await(5, SECONDS);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return develocity.getBuilds(query, maxBuilds, fromBuild, buildModels);
+        }
+
+    }
+
+    private static final class SlowClient implements DevelocityClient {
+
+        private final Error error;
+        private final AtomicInteger requests = new AtomicInteger();
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        private SlowClient(Error error) {
+            this.error = error;
+        }
+
+        @Override
+        public Optional<Build> getBuild(String id, Set<BuildModel> buildModels) {
+            requests.incrementAndGet();
+            try {
+                release.await(5, SECONDS);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            throw error;
+        }
+
+        @Override
+        public List<Build> getBuilds(String query, Integer maxBuilds, String fromBuild, Set<BuildModel> buildModels) {
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
+}
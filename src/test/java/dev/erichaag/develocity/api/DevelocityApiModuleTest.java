@@ -0,0 +1,60 @@
+package dev.erichaag.develocity.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+final class DevelocityApiModuleTest {
+
+    private static final String buildJson = """
+            {
+              "id": "foobarbazqux1",
+              "availableAt": 100,
+              "buildToolType": "gradle",
+              "buildToolVersion": "8.6",
+              "buildAgentVersion": "3.17.5",
+              "models": {
+                "gradleAttributes": {
+                  "model": {
+                    "id": "foobarbazqux1",
+                    "buildStartTime": 0,
+                    "buildDuration": 100,
+                    "gradleVersion": "8.6",
+                    "pluginVersion": "3.17.5",
+                    "rootProjectName": "develocity-build-processor",
+                    "requestedTasks": ["build"],
+                    "hasFailed": false,
+                    "tags": ["CI", "Linux", "main"],
+                    "values": [{"name": "Git branch", "value": "main"}],
+                    "environment": {"username": "erichaag", "publicHostname": "ci.example.com"}
+                  }
+                },
+                "gradleProjects": {
+                  "model": [{"name": "develocity-build-processor"}]
+                }
+              }
+            }""";
+
+    private final JsonMapper codecs = JsonMapper.builder().addModule(new DevelocityApiModule()).build();
+    private final JsonMapper jackson = new JsonMapper();
+
+    @Test
+    void givenBuildJson_whenReadAndWrittenWithCodecs_thenNoPropertyIsLost() throws JsonProcessingException {
+        final var build = codecs.readValue(buildJson, ApiBuild.class);
+        assertEquals(jackson.readTree(buildJson), jackson.readTree(codecs.writeValueAsString(build)));
+    }
+
+    @Test
+    void givenBuildJson_whenReadWithCodecs_thenBuildEqualsBuildReadByJackson() throws JsonProcessingException {
+        assertEquals(jackson.readValue(buildJson, ApiBuild.class), codecs.readValue(buildJson, ApiBuild.class));
+    }
+
+    @Test
+    void givenBuild_whenWrittenWithCodecs_thenJsonEqualsJsonWrittenByJackson() throws JsonProcessingException {
+        final var build = jackson.readValue(buildJson, ApiBuild.class);
+        assertEquals(jackson.readTree(jackson.writeValueAsString(build)), jackson.readTree(codecs.writeValueAsString(build)));
+    }
+
+}
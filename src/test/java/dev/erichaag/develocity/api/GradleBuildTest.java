@@ -0,0 +1,122 @@
+package dev.erichaag.develocity.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+import static dev.erichaag.develocity.api.BuildModel.GRADLE_ATTRIBUTES;
+import static dev.erichaag.develocity.api.BuildModel.GRADLE_PROJECTS;
+import static dev.erichaag.develocity.api.Builds.gradle;
+import static dev.erichaag.develocity.api.Builds.gradleAttributes;
+import static dev.erichaag.develocity.api.Builds.gradleProjects;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class GradleBuildTest {
+
+    private static final String id = "foobarbazqux1";
+    private static final ObjectMapper lazyObjectMapper = new JsonMapper().registerModule(new LazyBuildModelsModule());
+
+    @Test
+    void givenBuildWithoutModels_whenCreated_thenNoBuildModelsAreAvailable() {
+        assertEquals(Set.of(), gradle(id).getAvailableBuildModels());
+    }
+
+    @Test
+    void givenBuildWithModels_whenCreated_thenOnlyThoseBuildModelsAreAvailable() {
+        final var build = gradle(id, gradleAttributes(), gradleProjects());
+        assertEquals(Set.of(GRADLE_ATTRIBUTES, GRADLE_PROJECTS), build.getAvailableBuildModels());
+    }
+
+    @Test
+    void givenLazilyReadBuildWithModels_whenCreated_thenSameBuildModelsAreAvailable() throws IOException {
+        final var build = lazilyRead(gradle(id, gradleAttributes(), gradleProjects()));
+        assertEquals(Set.of(GRADLE_ATTRIBUTES, GRADLE_PROJECTS), build.getAvailableBuildModels());
+    }
+
+    @Test
+    void givenLazilyReadBuildWithoutModels_whenCreated_thenNoBuildModelsAreAvailable() throws IOException {
+        assertEquals(Set.of(), lazilyRead(gradle(id)).getAvailableBuildModels());
+    }
+
+    @Test
+    void givenAttributesWithTagsAndValues_whenQueried_thenIndexedTagsAndValuesAreReturned() {
+        final var build = gradle(id, gradleAttributes().values(List.of(
+                value("Git branch", "main"),
+                value("Git branch", "release"))));
+        assertTrue(build.hasTag("CI"));
+        assertFalse(build.hasTag("Windows"));
+        assertTrue(build.hasValue("Git branch"));
+        assertFalse(build.hasValue("Git commit id"));
+        assertEquals(List.of("main", "release"), build.getValues("Git branch"));
+        assertEquals(List.of(new Value("Git branch", "main"), new Value("Git branch", "release")), build.getValues());
+    }
+
+    @Test
+    void givenAttributesWithNullTagsAndValues_whenQueried_thenNoTagsOrValuesAreFound() {
+        final var build = gradle(id, gradleAttributes().tags(null).values(null));
+        assertFalse(build.hasTag("CI"));
+        assertFalse(build.hasValue("Git branch"));
+        assertEquals(List.of(), build.getValues());
+        assertEquals(List.of(), build.getValues("Git branch"));
+    }
+
+    @Test
+    void givenAttributesWithEmptyTagsAndValues_whenQueried_thenNoTagsOrValuesAreFound() {
+        final var build = gradle(id, gradleAttributes().tags(List.of()).values(List.of()));
+        assertFalse(build.hasTag("CI"));
+        assertFalse(build.hasValue("Git branch"));
+        assertEquals(List.of(), build.getValues());
+    }
+
+    @Test
+    void givenLazilyReadAttributes_whenQueried_thenIndexedTagsAndValuesAreReturned() throws IOException {
+        final var build = lazilyRead(gradle(id, gradleAttributes().values(List.of(value("Git branch", "main")))));
+        assertTrue(build.hasTag("CI"));
+        assertEquals(List.of("main"), build.getValues("Git branch"));
+    }
+
+    @Test
+    void givenAttributes_whenQueriedRepeatedly_thenIndexIsOnlyBuiltOnce() {
+        final var build = gradle(id, gradleAttributes().values(List.of(value("Git branch", "main"))));
+        assertSame(build.getValues(), build.getValues());
+    }
+
+    @Test
+    void givenBuildWithoutAttributes_whenQueried_thenAttributesNotPresentExceptionIsThrown() {
+        final var build = gradle(id);
+        assertThrows(AttributesNotPresentException.class, () -> build.hasTag("CI"));
+        assertThrows(AttributesNotPresentException.class, () -> build.hasValue("Git branch"));
+        assertThrows(AttributesNotPresentException.class, build::getValues);
+    }
+
+    @Test
+    void givenLazilyReadBuilds_whenCompared_thenBuildsWithSameModelsAreEqual() throws IOException {
+        final var build = gradle(id, gradleAttributes(), gradleProjects());
+        final var lazyBuild = lazilyRead(build);
+        assertEquals(lazyBuild, lazilyRead(build));
+        assertEquals(build, lazyBuild);
+        assertEquals(lazyBuild, build);
+        assertEquals(build.hashCode(), lazyBuild.hashCode());
+        assertNotEquals(lazyBuild, lazilyRead(gradle(id, gradleAttributes())));
+        assertNotEquals(lazyBuild, lazilyRead(gradle(id, gradleAttributes().buildDuration(200L), gradleProjects())));
+    }
+
+    private static GradleBuild lazilyRead(GradleBuild build) throws IOException {
+        final var json = lazyObjectMapper.writeValueAsBytes(build.getBuild());
+        return (GradleBuild) Build.from(lazyObjectMapper.readValue(json, ApiBuild.class));
+    }
+
+    private static BuildAttributesValue value(String name, String value) {
+        return new BuildAttributesValue().name(name).value(value);
+    }
+
+}
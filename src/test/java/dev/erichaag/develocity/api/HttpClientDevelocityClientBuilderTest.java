@@ -0,0 +1,93 @@
+package dev.erichaag.develocity.api;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.ProxySelector;
+import java.net.SocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class HttpClientDevelocityClientBuilderTest {
+
+    private final HttpClientDevelocityClientBuilder builder = DevelocityClient.forServer("https://develocity.example.com");
+
+    @Test
+    void givenHttpVersion_whenBuilt_thenHttpClientPrefersIt() {
+        assertEquals(HttpClient.Version.HTTP_1_1, builder.withHttpVersion(HttpClient.Version.HTTP_1_1).buildHttpClient().version());
+    }
+
+    @Test
+    void givenConnectTimeout_whenBuilt_thenHttpClientUsesIt() {
+        final var connectTimeout = Duration.ofSeconds(3);
+        assertEquals(Optional.of(connectTimeout), builder.withConnectTimeout(connectTimeout).buildHttpClient().connectTimeout());
+    }
+
+    @Test
+    void givenExecutor_whenBuilt_thenHttpClientUsesIt() {
+        final Executor executor = Runnable::run;
+        assertSame(executor, builder.withExecutor(executor).buildHttpClient().executor().orElseThrow());
+    }
+
+    @Test
+    void givenProxy_whenBuilt_thenHttpClientUsesIt() {
+        final var proxySelector = new ProxySelector() {
+            @Override
+            public List<Proxy> select(URI uri) {
+                return List.of(Proxy.NO_PROXY);
+            }
+
+            @Override
+            public void connectFailed(URI uri, SocketAddress address, IOException e) {
+            }
+        };
+        assertSame(proxySelector, builder.withProxy(proxySelector).buildHttpClient().proxy().orElseThrow());
+    }
+
+    @Test
+    void givenZeroOrNegativeRequestTimeout_whenSet_thenIllegalArgumentExceptionIsThrown() {
+        assertThrows(IllegalArgumentException.class, () -> builder.withRequestTimeout(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> builder.withRequestTimeout(Duration.ofMillis(-1)));
+    }
+
+    @Test
+    void givenRequestTimeout_whenServerRespondsTooSlowly_thenRequestFails() throws IOException {
+        final var server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", exchange -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException ignored) {
+            }
+            exchange.close();
+        });
+        server.start();
+        try {
+            final var develocity = DevelocityClient.forServer("http://localhost:" + server.getAddress().getPort())
+                    .withAnonymousAccess()
+                    .withRequestTimeout(Duration.ofMillis(100))
+                    .build();
+            final var thrown = assertThrows(RuntimeException.class, () -> develocity.getBuild("foobarbazqux1", Set.of()));
+            assertTrue(thrown.getCause() instanceof HttpTimeoutException);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+}
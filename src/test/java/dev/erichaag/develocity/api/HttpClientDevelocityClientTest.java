@@ -0,0 +1,274 @@
+package dev.erichaag.develocity.api;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+
+import javax.net.ssl.SSLSession;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static dev.erichaag.develocity.api.HttpClientDevelocityClient.discard;
+import static dev.erichaag.develocity.api.HttpClientDevelocityClient.firstSuccessful;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class HttpClientDevelocityClientTest {
+
+    private static final String buildJson = """
+            {"id":"foobarbazqux1","availableAt":0,"buildToolType":"gradle","buildToolVersion":"8.6","buildAgentVersion":"3.17.5"}""";
+
+    private final CompletableFuture<HttpResponse<InputStream>> primary = new CompletableFuture<>();
+    private final CompletableFuture<HttpResponse<InputStream>> hedge = new CompletableFuture<>();
+
+    @Test
+    void givenHedgeSucceedsFirst_whenHedged_thenHedgeWinsAndPrimaryIsCancelled() throws Exception {
+        final var winner = firstSuccessful(primary, hedge);
+        final var response = new StubResponse(200);
+        hedge.complete(response);
+        assertSame(response, winner.get());
+        assertFalse(response.closed);
+        assertTrue(primary.isCancelled());
+    }
+
+    @Test
+    void givenUnsuccessfulResponseFirst_whenOtherRequestSucceeds_thenSuccessfulResponseWins() throws Exception {
+        final var winner = firstSuccessful(primary, hedge);
+        final var unavailable = new StubResponse(503);
+        final var ok = new StubResponse(200);
+        primary.complete(unavailable);
+        assertFalse(winner.isDone());
+        hedge.complete(ok);
+        assertSame(ok, winner.get());
+        assertTrue(unavailable.closed);
+        assertFalse(ok.closed);
+    }
+
+    @Test
+    void givenBothResponsesUnsuccessful_whenHedged_thenFirstResponseIsReturnedAndOtherIsClosed() throws Exception {
+        final var winner = firstSuccessful(primary, hedge);
+        final var tooManyRequests = new StubResponse(429);
+        final var unavailable = new StubResponse(503);
+        hedge.complete(tooManyRequests);
+        primary.complete(unavailable);
+        assertSame(tooManyRequests, winner.get());
+        assertFalse(tooManyRequests.closed);
+        assertTrue(unavailable.closed);
+    }
+
+    @Test
+    void givenOneRequestFails_whenOtherIsUnsuccessful_thenUnsuccessfulResponseIsReturned() throws Exception {
+        final var winner = firstSuccessful(primary, hedge);
+        final var notFound = new StubResponse(404);
+        primary.completeExceptionally(new IOException("connection reset"));
+        hedge.complete(notFound);
+        assertSame(notFound, winner.get());
+    }
+
+    @Test
+    void givenBothRequestsFail_whenHedged_thenFirstFailureIsThrown() {
+        final var winner = firstSuccessful(primary, hedge);
+        final var failure = new IOException("connection reset");
+        primary.completeExceptionally(failure);
+        hedge.completeExceptionally(new IOException("connection refused"));
+        final var thrown = assertThrows(ExecutionException.class, winner::get);
+        assertSame(failure, thrown.getCause());
+    }
+
+    @Test
+    void givenSlowerRequestCannotBeCancelled_whenItSucceedsAfterWinner_thenSlowerResponseIsClosed() throws Exception {
+        final var uncancellableHedge = new CompletableFuture<HttpResponse<InputStream>>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                return false;
+            }
+        };
+        final var winner = firstSuccessful(primary, uncancellableHedge);
+        final var first = new StubResponse(200);
+        final var second = new StubResponse(200);
+        primary.complete(first);
+        uncancellableHedge.complete(second);
+        assertSame(first, winner.get());
+        assertTrue(second.closed);
+    }
+
+    @Test
+    void givenWinnerCancelled_whenHedged_thenBothRequestsAreCancelled() {
+        final var winner = firstSuccessful(primary, hedge);
+        winner.cancel(true);
+        assertTrue(primary.isCancelled());
+        assertTrue(hedge.isCancelled());
+    }
+
+    @Test
+    void givenResponseAlreadyArrived_whenDiscarded_thenBodyIsClosed() {
+        final var response = new StubResponse(200);
+        primary.complete(response);
+        discard(primary);
+        assertTrue(response.closed);
+    }
+
+    @Test
+    void givenRequestInFlight_whenDiscarded_thenRequestIsCancelled() {
+        discard(primary);
+        assertTrue(primary.isCancelled());
+    }
+
+    @Test
+    void givenUnsuccessfulResponses_whenHedging_thenTheirLatencyIsNotRecorded() throws IOException {
+        final var hedger = new RequestHedger(.95, .1);
+        final var server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            final var develocity = new HttpClientDevelocityClient(URI.create("http://localhost:" + server.getAddress().getPort()), null, HttpClient.newHttpClient(), null, hedger, false, false);
+            for (var i = 0; i < 20; i++) assertThrows(DevelocityClientException.class, () -> develocity.getBuild("foobarbazqux1", Set.of()));
+        } finally {
+            server.stop(0);
+        }
+        assertEquals(Optional.empty(), hedger.threshold(new RequestHedger.RequestShape(false, null, Set.of())));
+    }
+
+    @Test
+    void givenGzipEncodedResponse_whenBuildIsRequested_thenBodyIsDecoded() throws IOException {
+        assertEquals("foobarbazqux1", getBuild("gzip", GZIPOutputStream::new).getId());
+    }
+
+    @Test
+    void givenDeflateEncodedResponse_whenBuildIsRequested_thenBodyIsDecoded() throws IOException {
+        assertEquals("foobarbazqux1", getBuild("deflate", DeflaterOutputStream::new).getId());
+    }
+
+    @Test
+    void givenIdentityEncodedResponse_whenBuildIsRequested_thenBodyIsReadAsIs() throws IOException {
+        assertEquals("foobarbazqux1", getBuild("identity", out -> out).getId());
+    }
+
+    @Test
+    void givenResponseWithoutContentEncoding_whenBuildIsRequested_thenBodyIsReadAsIs() throws IOException {
+        assertEquals("foobarbazqux1", getBuild(null, out -> out).getId());
+    }
+
+    @Test
+    void givenUnsupportedContentEncoding_whenBuildIsRequested_thenRequestFails() {
+        final var thrown = assertThrows(RuntimeException.class, () -> getBuild("br", out -> out));
+        assertTrue(thrown.getCause() instanceof IOException);
+        assertTrue(thrown.getCause().getMessage().startsWith("Unsupported content encoding 'br'"));
+    }
+
+    private static Build getBuild(String contentEncoding, Encoder encoder) throws IOException {
+        final var bytes = new ByteArrayOutputStream();
+        try (final var out = encoder.encode(bytes)) {
+            out.write(buildJson.getBytes(UTF_8));
+        }
+        final var acceptEncoding = new AtomicReference<String>();
+        final var server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            acceptEncoding.set(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+            if (contentEncoding != null) exchange.getResponseHeaders().add("Content-Encoding", contentEncoding);
+            exchange.sendResponseHeaders(200, bytes.size());
+            try (final var body = exchange.getResponseBody()) {
+                bytes.writeTo(body);
+            }
+        });
+        server.start();
+        try {
+            final var build = DevelocityClient.forServer("http://localhost:" + server.getAddress().getPort())
+                    .withAnonymousAccess()
+                    .build()
+                    .getBuild("foobarbazqux1", Set.of())
+                    .orElseThrow();
+            assertEquals("gzip, deflate", acceptEncoding.get());
+            return build;
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private interface Encoder {
+
+        OutputStream encode(OutputStream out) throws IOException;
+
+    }
+
+    private static final class StubResponse implements HttpResponse<InputStream> {
+
+        private final int statusCode;
+        private volatile boolean closed = false;
+
+        private StubResponse(int statusCode) {
+            this.statusCode = statusCode;
+        }
+
+        @Override
+        public int statusCode() {
+            return statusCode;
+        }
+
+        @Override
+        public HttpRequest request() {
+            return HttpRequest.newBuilder(uri()).build();
+        }
+
+        @Override
+        public Optional<HttpResponse<InputStream>> previousResponse() {
+            return Optional.empty();
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            return HttpHeaders.of(Map.of(), (__, ___) -> true);
+        }
+
+        @Override
+        public InputStream body() {
+            return new ByteArrayInputStream(new byte[0]) {
+                @Override
+                public void close() {
+                    closed = true;
+                }
+            };
+        }
+
+        @Override
+        public Optional<SSLSession> sslSession() {
+            return Optional.empty();
+        }
+
+        @Override
+        public URI uri() {
+            return URI.create("https://develocity.example.com/api/builds");
+        }
+
+        @Override
+        public HttpClient.Version version() {
+            return HttpClient.Version.HTTP_1_1;
+        }
+
+    }
+
+}
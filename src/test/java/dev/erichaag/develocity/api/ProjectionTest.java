@@ -0,0 +1,66 @@
+package dev.erichaag.develocity.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+
+import static dev.erichaag.develocity.api.BuildModel.GRADLE_ATTRIBUTES;
+import static dev.erichaag.develocity.api.BuildModel.GRADLE_PROJECTS;
+import static dev.erichaag.develocity.api.BuildModel.MAVEN_ATTRIBUTES;
+import static dev.erichaag.develocity.api.Builds.gradle;
+import static dev.erichaag.develocity.api.Builds.gradleAttributes;
+import static dev.erichaag.develocity.api.Builds.gradleProjects;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class ProjectionTest {
+
+    private static final String id = "foobarbazqux1";
+    private static final ObjectMapper lazyObjectMapper = new JsonMapper().registerModule(new LazyBuildModelsModule());
+
+    private final Projection projection = Projection.builder()
+            .field("duration", GRADLE_ATTRIBUTES, "/buildDuration")
+            .field("failed", GRADLE_ATTRIBUTES, "/hasFailed")
+            .field("firstTag", GRADLE_ATTRIBUTES, "/tags/0")
+            .field("tags", GRADLE_ATTRIBUTES, "/tags")
+            .field("missingTag", GRADLE_ATTRIBUTES, "/tags/10")
+            .field("missing", GRADLE_ATTRIBUTES, "/doesNotExist")
+            .field("projectName", GRADLE_PROJECTS, "/0/name")
+            .field("mavenVersion", MAVEN_ATTRIBUTES, "/mavenVersion")
+            .build();
+
+    @Test
+    void givenBuildWithBoundModels_whenProjected_thenFieldsAreExtracted() {
+        final var projected = projection.project(gradle(id, gradleAttributes(), gradleProjects()));
+        assertEquals(Optional.of(100L), projected.get("duration", Long.class));
+        assertEquals(Optional.of(false), projected.get("failed", Boolean.class));
+        assertEquals(Optional.of("CI"), projected.get("firstTag", String.class));
+        assertTrue(projected.get("tags", JsonNode.class).orElseThrow().isArray());
+        assertEquals(Optional.of("develocity-build-processor"), projected.get("projectName", String.class));
+        assertEquals(Optional.empty(), projected.get("missingTag", Object.class));
+        assertEquals(Optional.empty(), projected.get("missing", Object.class));
+        assertEquals(Optional.empty(), projected.get("mavenVersion", Object.class));
+    }
+
+    @Test
+    void givenBuildWithBoundModels_whenProjected_thenFieldsAreSameAsWhenReadLazily() throws IOException {
+        final var build = gradle(id, gradleAttributes(), gradleProjects());
+        assertEquals(projection.project(lazilyRead(build)), projection.project(build));
+    }
+
+    @Test
+    void givenBuildWithoutModels_whenProjected_thenNoFieldsAreExtracted() {
+        assertEquals(Map.of(), projection.project(gradle(id)).values());
+    }
+
+    private static Build lazilyRead(Build build) throws IOException {
+        final var json = lazyObjectMapper.writeValueAsBytes(build.getBuild());
+        return Build.from(lazyObjectMapper.readValue(json, ApiBuild.class));
+    }
+
+}
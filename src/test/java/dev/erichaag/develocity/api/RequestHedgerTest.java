@@ -0,0 +1,70 @@
+package dev.erichaag.develocity.api;
+
+import dev.erichaag.develocity.api.RequestHedger.RequestShape;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+
+import static dev.erichaag.develocity.api.BuildModel.GRADLE_ATTRIBUTES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class RequestHedgerTest {
+
+    private static final RequestShape shape = new RequestShape(true, 100, Set.of(GRADLE_ATTRIBUTES));
+
+    @Test
+    void givenFewerThanMinimumSamples_whenThresholdRequested_thenNoThresholdIsReturned() {
+        final var hedger = new RequestHedger(.95, .1);
+        for (var i = 1; i < 20; i++) hedger.record(shape, i);
+        assertEquals(Optional.empty(), hedger.threshold(shape));
+    }
+
+    @Test
+    void givenEnoughSamples_whenThresholdRequested_thenPercentileOfSamplesIsReturned() {
+        final var hedger = new RequestHedger(.95, .1);
+        for (var i = 100; i >= 1; i--) hedger.record(shape, i);
+        assertEquals(Optional.of(Duration.ofNanos(95)), hedger.threshold(shape));
+    }
+
+    @Test
+    void givenMoreSamplesThanWindow_whenThresholdRequested_thenOnlyMostRecentSamplesAreUsed() {
+        final var hedger = new RequestHedger(.5, .1);
+        for (var i = 0; i < 128; i++) hedger.record(shape, 1_000);
+        for (var i = 0; i < 128; i++) hedger.record(shape, 10);
+        assertEquals(Optional.of(Duration.ofNanos(10)), hedger.threshold(shape));
+    }
+
+    @Test
+    void givenSamplesForOtherShape_whenThresholdRequested_thenNoThresholdIsReturned() {
+        final var hedger = new RequestHedger(.95, .1);
+        for (var i = 0; i < 100; i++) hedger.record(shape, i);
+        assertEquals(Optional.empty(), hedger.threshold(new RequestShape(false, null, Set.of(GRADLE_ATTRIBUTES))));
+    }
+
+    @Test
+    void givenBudget_whenHedgesAcquired_thenHedgesAreLimitedToBudgetOfRequests() {
+        final var hedger = new RequestHedger(.95, .1);
+        assertFalse(hedger.tryAcquireHedge());
+        for (var i = 0; i < 20; i++) hedger.threshold(shape);
+        assertTrue(hedger.tryAcquireHedge());
+        assertTrue(hedger.tryAcquireHedge());
+        assertFalse(hedger.tryAcquireHedge());
+        for (var i = 0; i < 10; i++) hedger.threshold(shape);
+        assertTrue(hedger.tryAcquireHedge());
+        assertFalse(hedger.tryAcquireHedge());
+    }
+
+    @Test
+    void givenInvalidPercentileOrBudget_whenCreated_thenExceptionIsThrown() {
+        assertThrows(IllegalArgumentException.class, () -> new RequestHedger(0, .1));
+        assertThrows(IllegalArgumentException.class, () -> new RequestHedger(1, .1));
+        assertThrows(IllegalArgumentException.class, () -> new RequestHedger(.95, 0));
+        assertThrows(IllegalArgumentException.class, () -> new RequestHedger(.95, 1.1));
+    }
+
+}
@@ -1,19 +1,43 @@
 package dev.erichaag.develocity.processing;
 
 import dev.erichaag.develocity.api.Build;
+import dev.erichaag.develocity.api.BuildModel;
+import dev.erichaag.develocity.api.Builds;
+import dev.erichaag.develocity.api.DevelocityClient;
 import dev.erichaag.develocity.api.DevelocityClientException;
 import dev.erichaag.develocity.api.DevelocityClientStub;
+import dev.erichaag.develocity.api.GradleBuild;
+import dev.erichaag.develocity.api.MavenBuild;
+import dev.erichaag.develocity.api.ProjectedBuild;
+import dev.erichaag.develocity.api.Projection;
 import dev.erichaag.develocity.processing.cache.InMemoryCache;
+import dev.erichaag.develocity.processing.cache.ProcessorCache;
+import dev.erichaag.develocity.processing.event.DiscoveryFinishedEvent;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 import java.util.stream.IntStream;
 
 import static dev.erichaag.develocity.api.BuildModel.GRADLE_ATTRIBUTES;
+import static dev.erichaag.develocity.api.BuildModel.GRADLE_BUILD_PROFILE_OVERVIEW;
+import static dev.erichaag.develocity.api.BuildModel.MAVEN_ATTRIBUTES;
 import static dev.erichaag.develocity.api.Builds.bazel;
 import static dev.erichaag.develocity.api.Builds.gradle;
 import static dev.erichaag.develocity.api.Builds.gradleAttributes;
@@ -21,8 +45,16 @@ import static dev.erichaag.develocity.api.Builds.maven;
 import static dev.erichaag.develocity.api.Builds.sbt;
 import static java.time.Instant.ofEpochMilli;
 import static java.util.Collections.emptyMap;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.IntStream.range;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 final class BuildProcessorTest {
 
@@ -35,7 +67,7 @@ final class BuildProcessorTest {
         assertMavenBuildsEncountered(2);
         assertBazelBuildsEncountered(2);
         assertSbtBuildsEncountered(2);
-        assertAllBuildsEncounteredInOrder();
+        assertAllDiscoveredBuildsEncounteredInOrder();
 
         buildProcessor().withMaxBuildsPerRequest(maxBuildsPerRequest).process(ofEpochMilli(500));
         assertOverallBuildsEncountered(8);
@@ -73,7 +105,7 @@ final class BuildProcessorTest {
         assertFetchedBuildCalled(12);
         assertCachedBuildCalled(0);
         assertProcessingFinishedCalledOnce();
-        assertAllBuildsEncounteredInOrder();
+        assertAllDiscoveredBuildsEncounteredInOrder();
     }
 
     @ParameterizedTest
@@ -133,6 +165,744 @@ final class BuildProcessorTest {
         assertProcessingFinishedCalledOnce();
     }
 
+    @Test
+    void givenListenersRegisteredForQueries_whenProcessed_thenEachListenerOnlyReceivesMatchingBuilds() {
+        final var gradleListener = new TrackingBuildListener();
+        final var mavenListener = new TrackingBuildListener();
+        BuildProcessor.forClient(DevelocityClientStub.withBuilds(builds))
+                .register(withRequiredBuildModels(gradleListener, GRADLE_ATTRIBUTES), "buildTool:gradle")
+                .register(withRequiredBuildModels(mavenListener, MAVEN_ATTRIBUTES), "buildTool:maven")
+                .register(trackingProcessListener)
+                .process(ofEpochMilli(0));
+        assertEquals(builds.stream().filter(GradleBuild.class::isInstance).toList(), gradleListener.encounteredBuilds());
+        assertEquals(builds.stream().filter(MavenBuild.class::isInstance).toList(), mavenListener.encounteredBuilds());
+        assertDiscoveryFinishedCalledOnce();
+        assertFetchedBuildCalled(8);
+    }
+
+    @Test
+    void givenListenerRegisteredForQuery_whenProcessedWithQuery_thenListenerQueryIsDiscoveredWithinProcessorQuery() {
+        final var stub = DevelocityClientStub.withBuilds(builds);
+        final var discoveryQueries = new CopyOnWriteArrayList<String>();
+        final var develocity = new DevelocityClient() {
+
+            @Override
+            public Optional<Build> getBuild(String id, Set<BuildModel> buildModels) {
+                return stub.getBuild(id, buildModels);
+            }
+
+            @Override
+            public List<Build> getBuilds(String query, Integer maxBuilds, String fromBuild, Set<BuildModel> buildModels) {
+                if (buildModels.isEmpty()) discoveryQueries.add(query);
+                return stub.getBuilds(query, maxBuilds, fromBuild, buildModels);
+            }
+
+        };
+        final var gradleListener = new TrackingBuildListener();
+        final var mavenListener = new TrackingBuildListener();
+        BuildProcessor.forClient(develocity)
+                .register(withRequiredBuildModels(gradleListener, GRADLE_ATTRIBUTES))
+                .register(withRequiredBuildModels(mavenListener, MAVEN_ATTRIBUTES), "buildTool:maven")
+                .process(ofEpochMilli(0), "buildTool:gradle");
+        assertEquals(Set.of("buildTool:gradle", "(buildTool:gradle) and (buildTool:maven)"), Set.copyOf(discoveryQueries));
+        assertEquals(builds.stream().filter(GradleBuild.class::isInstance).toList(), gradleListener.encounteredBuilds());
+        assertEquals(List.of(), mavenListener.encounteredBuilds());
+    }
+
+    @Test
+    void givenOrderedListenerDispatch_whenProcessed_thenAllBuildsAreEncounteredInOrder() {
+        buildProcessor()
+                .withRequiredBuildModels(GRADLE_ATTRIBUTES)
+                .withMaxBuildsPerRequest(3)
+                .withListenerDispatch(ListenerDispatch.ORDERED)
+                .process(ofEpochMilli(0));
+        assertProcessingFinishedCalledOnce();
+        assertAllBuildsEncounteredInOrder();
+        assertGradleBuildsEncountered(6);
+    }
+
+    @Test
+    void givenUnorderedListenerDispatch_whenProcessed_thenAllBuildsAreEncountered() {
+        final var encounteredBuilds = ConcurrentHashMap.<Build>newKeySet();
+        BuildProcessor.forClient(DevelocityClientStub.withBuilds(builds))
+                .withListenerDispatch(ListenerDispatch.UNORDERED)
+                .onBuild(encounteredBuilds::add)
+                .process(ofEpochMilli(0));
+        assertEquals(Set.copyOf(discoveredBuilds()), encounteredBuilds);
+    }
+
+    @Test
+    void givenParallelListenerDispatch_whenListenerFails_thenProcessingFails() {
+        final var failure = new IllegalStateException("listener failed");
+        final var processor = BuildProcessor.forClient(DevelocityClientStub.withBuilds(builds))
+                .withListenerDispatch(ListenerDispatch.ORDERED)
+                .onBuild(__ -> { throw failure; })
+                .build();
+        assertSame(failure, assertThrows(IllegalStateException.class, () -> processor.process(ofEpochMilli(0))));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ORDERED", "UNORDERED"})
+    void givenParallelListenerDispatch_whenListenerThrowsError_thenProcessingFailsWithError(String listenerDispatch) throws InterruptedException {
+        final var error = new AssertionError("listener failed");
+        final var processor = BuildProcessor.forClient(DevelocityClientStub.withBuilds(builds))
+                .withListenerDispatch(ListenerDispatch.valueOf(listenerDispatch))
+                .withMaxBufferedBuilds(1)
+                .onBuild(__ -> { throw error; })
+                .build();
+        final var thrown = new AtomicReference<Throwable>();
+        final var processing = Thread.ofPlatform().start(() -> {
+            try {
+                processor.process(ofEpochMilli(0));
+            } catch (Throwable e) {
+                thrown.set(e);
+            }
+        });
+        assertTrue(processing.join(Duration.ofSeconds(5)), "Expected processing to finish");
+        assertSame(error, thrown.get());
+    }
+
+    @Test
+    void givenSlowListener_whenProcessedInParallel_thenFetchingPausesAtMaxBufferedBuilds() throws InterruptedException {
+        final var release = new CountDownLatch(1);
+        final var processor = buildProcessor()
+                .withRequiredBuildModels(GRADLE_ATTRIBUTES)
+                .withMaxBuildsPerRequest(1)
+                .withMaxBufferedBuilds(2)
+                .withListenerDispatch(ListenerDispatch.ORDERED)
+                .onBuild(__ -> await(release))
+                .build();
+        final var processing = Thread.ofPlatform().start(() -> processor.process(ofEpochMilli(0)));
+        while (trackingProcessListener.fetchedBuildCalled() < 3) Thread.onSpinWait();
+        MILLISECONDS.sleep(100);
+        assertFetchedBuildCalled(3);
+        release.countDown();
+        processing.join();
+        assertFetchedBuildCalled(12);
+        assertAllBuildsEncounteredInOrder();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 100})
+    void givenSomeBuildsAreCached_whenStreamed_thenAllBuildsAreReturnedInOrder(int maxBuildsPerRequest) {
+        final var inMemoryCache = InMemoryCache.withDefaultSize();
+        IntStream.of(0, 4, 7, 8, 10).mapToObj(builds::get).forEach(inMemoryCache::save);
+        final var streamed = buildProcessor()
+                .withRequiredBuildModels(GRADLE_ATTRIBUTES)
+                .withMaxBuildsPerRequest(maxBuildsPerRequest)
+                .withProcessorCache(inMemoryCache)
+                .build()
+                .stream(ofEpochMilli(0))
+                .toList();
+        assertEquals(builds, streamed);
+        assertOverallBuildsEncountered(0);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3})
+    void givenDiscoveryRequestTimesOut_whenStreamed_thenItIsRetriedAndAllBuildsAreReturnedInOrder(int discoveryPartitions) {
+        final var develocity = DevelocityClientStub.withBuilds(builds);
+        develocity.thenThrow(1, newDevelocityClientException());
+        final var streamed = BuildProcessor.forClient(develocity)
+                .withRequiredBuildModels(GRADLE_ATTRIBUTES)
+                .withDiscoveryPartitions(discoveryPartitions)
+                .build()
+                .stream(ofEpochMilli(0))
+                .toList();
+        assertEquals(builds, streamed);
+    }
+
+    @Test
+    void givenListenerInterestedInSomeBuilds_whenStreamed_thenOtherBuildsAreNeitherFetchedNorReturned() {
+        final var stub = DevelocityClientStub.withBuilds(builds);
+        final var fetchedBuildIds = new CopyOnWriteArrayList<String>();
+        final var develocity = new DevelocityClient() {
+
+            @Override
+            public Optional<Build> getBuild(String id, Set<BuildModel> buildModels) {
+                fetchedBuildIds.add(id);
+                return stub.getBuild(id, buildModels);
+            }
+
+            @Override
+            public List<Build> getBuilds(String query, Integer maxBuilds, String fromBuild, Set<BuildModel> buildModels) {
+                final var response = stub.getBuilds(query, maxBuilds, fromBuild, buildModels);
+                if (!buildModels.isEmpty()) response.forEach(it -> fetchedBuildIds.add(it.getId()));
+                return response;
+            }
+
+        };
+        final var streamed = BuildProcessor.forClient(develocity)
+                .register(BuildListener.builder().requiredBuildModels(MAVEN_ATTRIBUTES).onMavenBuild(__ -> {}).build())
+                .build()
+                .stream(ofEpochMilli(0))
+                .toList();
+        final var mavenBuilds = builds.stream().filter(MavenBuild.class::isInstance).toList();
+        assertEquals(mavenBuilds, streamed);
+        assertEquals(mavenBuilds.stream().map(Build::getId).toList(), fetchedBuildIds);
+    }
+
+    @Test
+    void whenStreamIsShortCircuited_thenRemainingBuildsAreNotFetched() {
+        final var saved = new ArrayList<Build>();
+        final var streamed = buildProcessor()
+                .withRequiredBuildModels(GRADLE_ATTRIBUTES)
+                .withMaxBuildsPerRequest(1)
+                .withProcessorCache(new ProcessorCache() {
+
+                    @Override
+                    public Optional<Build> load(String id, Set<BuildModel> requiredBuildModels) {
+                        return Optional.empty();
+                    }
+
+                    @Override
+                    public void save(Build build) {
+                        saved.add(build);
+                    }
+
+                })
+                .build()
+                .stream(ofEpochMilli(0))
+                .limit(2)
+                .toList();
+        assertEquals(builds.subList(0, 2), streamed);
+        assertEquals(builds.subList(0, 2), saved);
+    }
+
+    @Test
+    void whenPublisherIsSubscribedWithUnboundedDemand_thenAllBuildsArePublishedInOrder() throws InterruptedException {
+        final var published = new CopyOnWriteArrayList<Build>();
+        final var completed = new CountDownLatch(1);
+        buildProcessor()
+                .withRequiredBuildModels(GRADLE_ATTRIBUTES)
+                .withMaxBuildsPerRequest(3)
+                .build()
+                .publisher(ofEpochMilli(0))
+                .subscribe(new Flow.Subscriber<Build>() {
+
+                    @Override
+                    public void onSubscribe(Flow.Subscription subscription) {
+                        subscription.request(Long.MAX_VALUE);
+                    }
+
+                    @Override
+                    public void onNext(Build build) {
+                        published.add(build);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        completed.countDown();
+                    }
+
+                });
+        assertTrue(completed.await(5, SECONDS));
+        assertEquals(builds, published);
+    }
+
+    @Test
+    void whenPublisherDemandIsBounded_thenOnlyDemandedBuildsAreFetched() throws InterruptedException {
+        final var saved = new CopyOnWriteArrayList<Build>();
+        final var cancelled = new CountDownLatch(1);
+        buildProcessor()
+                .withRequiredBuildModels(GRADLE_ATTRIBUTES)
+                .withProcessorCache(new ProcessorCache() {
+
+                    @Override
+                    public Optional<Build> load(String id, Set<BuildModel> requiredBuildModels) {
+                        return Optional.empty();
+                    }
+
+                    @Override
+                    public void save(Build build) {
+                        saved.add(build);
+                    }
+
+                })
+                .build()
+                .publisher(ofEpochMilli(0))
+                .subscribe(new Flow.Subscriber<Build>() {
+
+                    private Flow.Subscription subscription;
+                    private int received = 0;
+
+                    @Override
+                    public void onSubscribe(Flow.Subscription subscription) {
+                        this.subscription = subscription;
+                        subscription.request(1);
+                    }
+
+                    @Override
+                    public void onNext(Build build) {
+                        if (++received < 3) {
+                            subscription.request(1);
+                        } else {
+                            subscription.cancel();
+                            cancelled.countDown();
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                    }
+
+                    @Override
+                    public void onComplete() {
+                    }
+
+                });
+        assertTrue(cancelled.await(5, SECONDS));
+        assertEquals(builds.subList(0, 3), saved);
+    }
+
+    @Test
+    void whenPublisherDemandIsSignalledWithinOnSubscribe_thenNoBuildIsPublishedBeforeItReturns() throws InterruptedException {
+        final var subscribing = new AtomicBoolean(false);
+        final var publishedWhileSubscribing = new AtomicBoolean(false);
+        final var completed = new CountDownLatch(1);
+        buildProcessor()
+                .build()
+                .publisher(ofEpochMilli(0))
+                .subscribe(new Flow.Subscriber<Build>() {
+
+                    @Override
+                    public void onSubscribe(Flow.Subscription subscription) {
+                        subscribing.set(true);
+                        subscription.request(Long.MAX_VALUE);
+                        try {
+                            Thread.sleep(100);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        subscribing.set(false);
+                    }
+
+                    @Override
+                    public void onNext(Build build) {
+                        if (subscribing.get()) publishedWhileSubscribing.set(true);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        completed.countDown();
+                    }
+
+                });
+        assertTrue(completed.await(5, SECONDS));
+        assertFalse(publishedWhileSubscribing.get());
+    }
+
+    @Test
+    void whenPublisherSubscriberThrows_thenSubscriptionIsCancelledAndErrorIsSignalled() throws InterruptedException {
+        final var failure = new IllegalStateException("subscriber failed");
+        final var received = new CopyOnWriteArrayList<Build>();
+        final var error = new AtomicReference<Throwable>();
+        final var failed = new CountDownLatch(1);
+        buildProcessor()
+                .build()
+                .publisher(ofEpochMilli(0))
+                .subscribe(new Flow.Subscriber<Build>() {
+
+                    @Override
+                    public void onSubscribe(Flow.Subscription subscription) {
+                        subscription.request(Long.MAX_VALUE);
+                    }
+
+                    @Override
+                    public void onNext(Build build) {
+                        received.add(build);
+                        throw failure;
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        error.set(throwable);
+                        failed.countDown();
+                    }
+
+                    @Override
+                    public void onComplete() {
+                    }
+
+                });
+        assertTrue(failed.await(5, SECONDS));
+        assertSame(failure, error.get());
+        assertEquals(1, received.size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"SERIAL", "ORDERED", "UNORDERED"})
+    void givenCollector_whenProcessed_thenResultAggregatesAllBuilds(String listenerDispatch) {
+        final var result = new AtomicReference<Map<String, Long>>();
+        buildProcessor()
+                .withListenerDispatch(ListenerDispatch.valueOf(listenerDispatch))
+                .collect(groupingBy(it -> it.getBuild().getBuildToolType(), counting()), result::set)
+                .process(ofEpochMilli(0));
+        assertEquals(Map.of("gradle", 6L, "maven", 2L, "bazel", 2L, "sbt", 2L), result.get());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"SERIAL", "ORDERED", "UNORDERED"})
+    void givenCollector_whenProcessedConcurrently_thenEachRunAggregatesOnlyItsBuilds(String listenerDispatch) throws InterruptedException {
+        final var results = new CopyOnWriteArrayList<Long>();
+        final var bothRunsStarted = new CyclicBarrier(2);
+        final var processor = BuildProcessor.forClient(DevelocityClientStub.withBuilds(builds))
+                .withListenerDispatch(ListenerDispatch.valueOf(listenerDispatch))
+                .collect(counting(), results::add)
+                .onProcessingStarted(__ -> await(bothRunsStarted))
+                .build();
+        final var runs = List.of(
+                Thread.ofPlatform().start(() -> processor.process(ofEpochMilli(0))),
+                Thread.ofPlatform().start(() -> processor.process(ofEpochMilli(0))));
+        for (final var run : runs) assertTrue(run.join(Duration.ofSeconds(5)), "Expected processing to finish");
+        assertEquals(List.of(12L, 12L), results);
+    }
+
+    @Test
+    void givenBuildToolFilter_whenProcessed_thenOnlyMatchingBuildsAreProcessed() {
+        buildProcessor()
+                .filterByBuildTool("gradle")
+                .process(ofEpochMilli(0));
+        assertOverallBuildsEncountered(6);
+        assertGradleBuildsEncountered(6);
+        assertMavenBuildsEncountered(0);
+    }
+
+    @Test
+    void givenFilters_whenProcessedWithQuery_thenFiltersAreCombinedWithQuery() {
+        final var queries = new CopyOnWriteArrayList<String>();
+        final var develocity = new DevelocityClient() {
+
+            @Override
+            public Optional<Build> getBuild(String id, Set<BuildModel> buildModels) {
+                return Optional.empty();
+            }
+
+            @Override
+            public List<Build> getBuilds(String query, Integer maxBuilds, String fromBuild, Set<BuildModel> buildModels) {
+                queries.add(query);
+                return List.of();
+            }
+
+        };
+        BuildProcessor.forClient(develocity)
+                .filterByTag("CI")
+                .filterByCustomValue("Git repository", "https://github.com/example/repo")
+                .filterByFailed()
+                .process(ofEpochMilli(0), "buildTool:gradle or buildTool:maven");
+        assertEquals(List.of("tag:CI and value:\"Git repository=https://github.com/example/repo\" and buildOutcome:failed and (buildTool:gradle or buildTool:maven)"), queries);
+    }
+
+    @Test
+    void givenConditionalBuildModels_whenProcessed_thenOnlyMatchingBuildsAreFetchedWithThem() {
+        final var stub = DevelocityClientStub.withBuilds(builds);
+        final var conditionalFetches = new CopyOnWriteArrayList<String>();
+        final var develocity = new DevelocityClient() {
+
+            @Override
+            public Optional<Build> getBuild(String id, Set<BuildModel> buildModels) {
+                if (buildModels.equals(Set.of(GRADLE_ATTRIBUTES, GRADLE_BUILD_PROFILE_OVERVIEW))) conditionalFetches.add(id);
+                return stub.getBuild(id, buildModels);
+            }
+
+            @Override
+            public List<Build> getBuilds(String query, Integer maxBuilds, String fromBuild, Set<BuildModel> buildModels) {
+                return stub.getBuilds(query, maxBuilds, fromBuild, buildModels);
+            }
+
+        };
+        trackingBuildListener = new TrackingBuildListener();
+        BuildProcessor.forClient(develocity)
+                .register(withRequiredBuildModels(trackingBuildListener, GRADLE_ATTRIBUTES))
+                .withConditionalBuildModels(it -> it.getId().equals("foobarbazqux8"), GRADLE_BUILD_PROFILE_OVERVIEW)
+                .process(ofEpochMilli(0));
+        assertEquals(List.of("foobarbazqux8"), conditionalFetches);
+        assertAllBuildsEncounteredInOrder();
+    }
+
+    @Test
+    void givenConditionalBuildModels_whenProcessed_thenMatchingBuildsAreFetchedOnlyWithTheirOwnListenersBuildModels() {
+        final var stub = DevelocityClientStub.withBuilds(builds);
+        final var conditionalFetches = new CopyOnWriteArrayList<Set<BuildModel>>();
+        final var develocity = new DevelocityClient() {
+
+            @Override
+            public Optional<Build> getBuild(String id, Set<BuildModel> buildModels) {
+                if (id.equals("foobarbazqux8")) conditionalFetches.add(buildModels);
+                return stub.getBuild(id, buildModels);
+            }
+
+            @Override
+            public List<Build> getBuilds(String query, Integer maxBuilds, String fromBuild, Set<BuildModel> buildModels) {
+                return stub.getBuilds(query, maxBuilds, fromBuild, buildModels);
+            }
+
+        };
+        BuildProcessor.forClient(develocity)
+                .register(withRequiredBuildModels(new TrackingBuildListener(), GRADLE_ATTRIBUTES))
+                .register(withRequiredBuildModels(new TrackingBuildListener(), MAVEN_ATTRIBUTES))
+                .withConditionalBuildModels(it -> it.getId().equals("foobarbazqux8"), GRADLE_BUILD_PROFILE_OVERVIEW)
+                .process(ofEpochMilli(0));
+        assertEquals(List.of(Set.of(GRADLE_ATTRIBUTES, GRADLE_BUILD_PROFILE_OVERVIEW)), conditionalFetches);
+    }
+
+    @Test
+    void givenListenersInterestedInSpecificBuildTools_whenProcessed_thenOtherBuildsAreNotFetched() {
+        final var gradleBuilds = new CopyOnWriteArrayList<GradleBuild>();
+        final var mavenBuilds = new CopyOnWriteArrayList<MavenBuild>();
+        final var trackingProcessListener = new TrackingProcessListener();
+        BuildProcessor.forClient(DevelocityClientStub.withBuilds(builds))
+                .register(BuildListener.builder().requiredBuildModels(GRADLE_ATTRIBUTES).onGradleBuild(gradleBuilds::add).build())
+                .register(BuildListener.builder().requiredBuildModels(MAVEN_ATTRIBUTES).onMavenBuild(mavenBuilds::add).build())
+                .register(trackingProcessListener)
+                .process(ofEpochMilli(0));
+        assertEquals(6, gradleBuilds.size());
+        assertEquals(2, mavenBuilds.size());
+        assertEquals(8, trackingProcessListener.fetchedBuildCalled());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 100})
+    void givenBuildMissingFromQueryOfItsBuildTool_whenProcessed_thenBuildIsFetchedOnItsOwn(int maxBuildsPerRequest) {
+        final var stub = DevelocityClientStub.withBuilds(builds);
+        final var fetchedOnTheirOwn = new CopyOnWriteArrayList<String>();
+        final var develocity = new DevelocityClient() {
+
+            @Override
+            public Optional<Build> getBuild(String id, Set<BuildModel> buildModels) {
+                fetchedOnTheirOwn.add(id);
+                return stub.getBuild(id, buildModels);
+            }
+
+            @Override
+            public List<Build> getBuilds(String query, Integer maxBuilds, String fromBuild, Set<BuildModel> buildModels) {
+                return stub.getBuilds(query, maxBuilds, fromBuild, buildModels).stream()
+                        .filter(it -> buildModels.isEmpty() || !it.getId().equals("foobarbazqux2"))
+                        .toList();
+            }
+
+        };
+        trackingBuildListener = new TrackingBuildListener();
+        BuildProcessor.forClient(develocity)
+                .register(withRequiredBuildModels(trackingBuildListener, GRADLE_ATTRIBUTES, MAVEN_ATTRIBUTES))
+                .withMaxBuildsPerRequest(maxBuildsPerRequest)
+                .process(ofEpochMilli(0));
+        assertEquals(List.of("foobarbazqux2"), fetchedOnTheirOwn);
+        assertAllBuildsEncounteredInOrder();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 100})
+    void givenListenersInterestedInSpecificBuildTools_whenStreamed_thenEachBuildIsFetchedWithOnlyItsListenersBuildModels(int maxBuildsPerRequest) {
+        final var stub = DevelocityClientStub.withBuilds(builds);
+        final var requestedBuildModels = new CopyOnWriteArrayList<Set<BuildModel>>();
+        final var develocity = new DevelocityClient() {
+
+            @Override
+            public Optional<Build> getBuild(String id, Set<BuildModel> buildModels) {
+                return stub.getBuild(id, buildModels);
+            }
+
+            @Override
+            public List<Build> getBuilds(String query, Integer maxBuilds, String fromBuild, Set<BuildModel> buildModels) {
+                if (!buildModels.isEmpty()) requestedBuildModels.add(buildModels);
+                return stub.getBuilds(query, maxBuilds, fromBuild, buildModels);
+            }
+
+        };
+        final var streamed = BuildProcessor.forClient(develocity)
+                .register(BuildListener.builder().requiredBuildModels(GRADLE_ATTRIBUTES).onGradleBuild(__ -> {}).build())
+                .register(BuildListener.builder().requiredBuildModels(MAVEN_ATTRIBUTES).onMavenBuild(__ -> {}).build(), "buildTool:maven")
+                .withMaxBuildsPerRequest(maxBuildsPerRequest)
+                .build()
+                .stream(ofEpochMilli(0))
+                .toList();
+        // Builds no listener is interested in are neither fetched nor streamed
+        final var expected = builds.stream().filter(it -> it instanceof GradleBuild || it instanceof MavenBuild).map(Build::getId).toList();
+        assertEquals(expected, streamed.stream().map(Build::getId).toList());
+        assertTrue(requestedBuildModels.stream().noneMatch(it -> it.contains(GRADLE_ATTRIBUTES) && it.contains(MAVEN_ATTRIBUTES)));
+    }
+
+    @Test
+    void givenProcessListenersOverridingSomeCallbacks_whenProcessed_thenOnlyThoseCallbacksAreNotified() {
+        final var fetchedBuilds = new CopyOnWriteArrayList<String>();
+        final var processingFinished = new CopyOnWriteArrayList<Instant>();
+        BuildProcessor.forClient(DevelocityClientStub.withBuilds(builds))
+                .onFetchedBuild(it -> fetchedBuilds.add(it.build().getId()))
+                .register(ProcessListener.builder().onProcessingFinished(it -> processingFinished.add(it.triggeredAt())).build())
+                .process(ofEpochMilli(0));
+        assertEquals(builds.stream().map(Build::getId).toList(), fetchedBuilds);
+        assertEquals(1, processingFinished.size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 100})
+    void givenBuildModelsForSeveralBuildTools_whenProcessed_thenEachBuildToolIsFetchedWithOnlyItsBuildModels(int maxBuildsPerRequest) {
+        final var stub = DevelocityClientStub.withBuilds(builds);
+        final var requestedBuildModels = new CopyOnWriteArrayList<Set<BuildModel>>();
+        final var develocity = new DevelocityClient() {
+
+            @Override
+            public Optional<Build> getBuild(String id, Set<BuildModel> buildModels) {
+                return stub.getBuild(id, buildModels);
+            }
+
+            @Override
+            public List<Build> getBuilds(String query, Integer maxBuilds, String fromBuild, Set<BuildModel> buildModels) {
+                if (!buildModels.isEmpty()) requestedBuildModels.add(buildModels);
+                return stub.getBuilds(query, maxBuilds, fromBuild, buildModels);
+            }
+
+        };
+        trackingBuildListener = new TrackingBuildListener();
+        BuildProcessor.forClient(develocity)
+                .register(withRequiredBuildModels(trackingBuildListener, GRADLE_ATTRIBUTES, MAVEN_ATTRIBUTES))
+                .withMaxBuildsPerRequest(maxBuildsPerRequest)
+                .process(ofEpochMilli(0));
+        assertTrue(requestedBuildModels.stream().noneMatch(it -> it.contains(GRADLE_ATTRIBUTES) && it.contains(MAVEN_ATTRIBUTES)));
+        assertAllBuildsEncounteredInOrder();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 4, 12, 100})
+    void givenDiscoveryPartitions_whenProcessed_thenAllBuildsAreEncounteredInOrder(int discoveryPartitions) {
+        buildProcessor()
+                .withDiscoveryPartitions(discoveryPartitions)
+                .process(ofEpochMilli(0));
+        assertDiscoveryFinishedCalledOnce();
+        assertAllDiscoveredBuildsEncounteredInOrder();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 100})
+    void givenBuildsAvailableAtSameTimeDiscoveredInOtherOrder_whenProcessed_thenEachBuildIsEncounteredOnceInDiscoveryOrder(int maxBuildsPerRequest) {
+        final var first = gradle("foobarbazqux3", it -> it.availableAt(200L), gradleAttributes());
+        final var second = gradle("foobarbazqux2", it -> it.availableAt(200L), gradleAttributes());
+        final var third = gradle("foobarbazqux1", it -> it.availableAt(100L), gradleAttributes());
+        // Partitioned discovery can order builds available at the same time
+        // differently from the server
+        final var discovery = DevelocityClientStub.withBuilds(first, second, third);
+        final var server = DevelocityClientStub.withBuilds(second, first, third);
+        final var develocity = new DevelocityClient() {
+
+            @Override
+            public Optional<Build> getBuild(String id, Set<BuildModel> buildModels) {
+                return server.getBuild(id, buildModels);
+            }
+
+            @Override
+            public List<Build> getBuilds(String query, Integer maxBuilds, String fromBuild, Set<BuildModel> buildModels) {
+                return (buildModels.isEmpty() ? discovery : server).getBuilds(query, maxBuilds, fromBuild, buildModels);
+            }
+
+        };
+        trackingBuildListener = new TrackingBuildListener();
+        BuildProcessor.forClient(develocity)
+                .register(withRequiredBuildModels(trackingBuildListener, GRADLE_ATTRIBUTES))
+                .withMaxBuildsPerRequest(maxBuildsPerRequest)
+                .process(ofEpochMilli(0));
+        assertEquals(List.of(first, second, third), trackingBuildListener.encounteredBuilds());
+    }
+
+    @Test
+    void givenDiscoveryPartitions_whenPartitionProbeTimesOut_thenAllBuildsAreStillEncounteredInOrder() {
+        final var develocity = DevelocityClientStub.withBuilds(builds);
+        trackingBuildListener = new TrackingBuildListener();
+        BuildProcessor.forClient(develocity)
+                .withDiscoveryPartitions(3)
+                .register(trackingBuildListener)
+                .onDiscoveryStarted(__ -> develocity.thenThrow(1, newDevelocityClientException()))
+                .process(ofEpochMilli(0));
+        assertAllDiscoveredBuildsEncounteredInOrder();
+    }
+
+    @Test
+    void givenDiscoveryPartitions_whenPartitionRequestTimesOut_thenItIsRetriedAndAllBuildsAreEncounteredInOrder() {
+        final var stub = DevelocityClientStub.withBuilds(builds);
+        final var timedOut = new AtomicBoolean();
+        final var partitionQueries = new CopyOnWriteArrayList<String>();
+        final var develocity = new DevelocityClient() {
+
+            @Override
+            public Optional<Build> getBuild(String id, Set<BuildModel> buildModels) {
+                return stub.getBuild(id, buildModels);
+            }
+
+            @Override
+            public List<Build> getBuilds(String query, Integer maxBuilds, String fromBuild, Set<BuildModel> buildModels) {
+                if (query != null && query.contains("buildStartTime")) {
+                    partitionQueries.add(query);
+                    if (timedOut.compareAndSet(false, true)) throw newDevelocityClientException().get();
+                }
+                return stub.getBuilds(query, maxBuilds, fromBuild, buildModels);
+            }
+
+        };
+        trackingBuildListener = new TrackingBuildListener();
+        BuildProcessor.forClient(develocity)
+                .withDiscoveryPartitions(3)
+                .register(trackingBuildListener)
+                .process(ofEpochMilli(0));
+        assertTrue(timedOut.get());
+        assertAllDiscoveredBuildsEncounteredInOrder();
+        // Partitions are bounded by dates in UTC to the second
+        assertTrue(partitionQueries.stream().allMatch(it -> it.matches("(buildStartTime(>=|<)\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}Z( and )?)+")), partitionQueries::toString);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3})
+    void givenBuildIdsOfUnexpectedLength_whenDiscovered_thenBuildIdsArePreserved(int discoveryPartitions) {
+        final var encounteredBuildIds = new CopyOnWriteArrayList<String>();
+        final var builds = List.<Build>of(
+                gradle("foobarbazqux3", it -> it.availableAt(300L)),
+                maven ("short", it -> it.availableAt(200L)),
+                gradle("a-much-longer-build-id", it -> it.availableAt(100L)));
+        BuildProcessor.forClient(DevelocityClientStub.withBuilds(builds))
+                .withDiscoveryPartitions(discoveryPartitions)
+                .onBuild(it -> encounteredBuildIds.add(it.getId()))
+                .process(ofEpochMilli(0));
+        assertEquals(List.of("foobarbazqux3", "short", "a-much-longer-build-id"), encounteredBuildIds);
+    }
+
+    @Test
+    void givenProjection_whenProcessed_thenOnlyProjectedFieldsOfApplicableBuildsAreExtracted() {
+        final var projectedBuilds = new CopyOnWriteArrayList<ProjectedBuild>();
+        final var projection = Projection.builder()
+                .field("duration", GRADLE_ATTRIBUTES, "/buildDuration")
+                .field("firstTag", GRADLE_ATTRIBUTES, "/tags/0")
+                .field("missing", GRADLE_ATTRIBUTES, "/doesNotExist")
+                .build();
+        BuildProcessor.forClient(DevelocityClientStub.withBuilds(builds))
+                .onProjectedBuild(projection, projectedBuilds::add)
+                .process(ofEpochMilli(0));
+        assertEquals(6, projectedBuilds.size());
+        projectedBuilds.forEach(it -> {
+            assertEquals("gradle", it.buildToolType());
+            assertEquals(Optional.of(100L), it.get("duration", Long.class));
+            assertEquals(Optional.of("CI"), it.get("firstTag", String.class));
+            assertEquals(Optional.empty(), it.get("missing", Object.class));
+        });
+    }
+
+    @Test
+    void whenDiscoveryFinished_thenDiscoveredBuildsAreCountedByBuildTool() {
+        final var discoveryFinished = new AtomicReference<DiscoveryFinishedEvent>();
+        BuildProcessor.forClient(DevelocityClientStub.withBuilds(builds))
+                .onDiscoveryFinished(discoveryFinished::set)
+                .process(ofEpochMilli(0));
+        assertEquals(12, discoveryFinished.get().count());
+        assertEquals(Map.of("gradle", 6, "maven", 2, "bazel", 2, "sbt", 2), discoveryFinished.get().builds().countByBuildToolType());
+        assertEquals(builds.stream().map(Build::getId).toList(), discoveryFinished.get().builds().stream().map(DiscoveredBuild::id).toList());
+    }
+
     private final List<Build> builds = List.of(
             gradle("foobarbazqu12", it -> it.availableAt(1200L), gradleAttributes()),
             bazel ("foobarbazqu11", it -> it.availableAt(1100L)),
@@ -215,6 +985,46 @@ final class BuildProcessorTest {
         assertEquals(builds, trackingBuildListener.encounteredBuilds());
     }
 
+    private void assertAllDiscoveredBuildsEncounteredInOrder() {
+        assertEquals(discoveredBuilds(), trackingBuildListener.encounteredBuilds());
+    }
+
+    private List<Build> discoveredBuilds() {
+        return builds.stream().map(Builds::withoutModels).toList();
+    }
+
+    private static BuildListener withRequiredBuildModels(BuildListener listener, BuildModel... buildModels) {
+        return new BuildListener() {
+
+            @Override
+            public Set<BuildModel> getRequiredBuildModels() {
+                return Set.of(buildModels);
+            }
+
+            @Override
+            public void onBuild(Build build) {
+                listener.onBuild(build);
+            }
+
+        };
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(5, SECONDS);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     private static String pluralize(String value, int i) {
         return i == 1 ? value : value + "s";
     }
@@ -0,0 +1,114 @@
+package dev.erichaag.develocity.processing;
+
+import dev.erichaag.develocity.api.Build;
+import dev.erichaag.develocity.processing.event.BuildProcessorEvent;
+import dev.erichaag.develocity.processing.event.CachedBuildEvent;
+import dev.erichaag.develocity.processing.event.DiscoveryStartedEvent;
+import dev.erichaag.develocity.processing.event.FetchedBuildEvent;
+import dev.erichaag.develocity.processing.event.ProcessingFinishedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static dev.erichaag.develocity.api.Builds.gradle;
+import static java.time.ZoneOffset.UTC;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+final class ProcessListenerDispatcherTest {
+
+    private static final Instant now = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Instant since = Instant.parse("2023-12-01T00:00:00Z");
+
+    private final CountingClock clock = new CountingClock();
+    private final Build build = gradle("foobarbazqux1");
+    private final List<BuildProcessorEvent> events = new ArrayList<>();
+
+    @Test
+    void givenNoListeners_whenNotified_thenNoEventIsCreated() {
+        notifyAllCallbacks(new ProcessListenerDispatcher(List.of(), clock));
+        assertEquals(0, clock.reads);
+    }
+
+    @Test
+    void givenListenerOverridingNoCallbacks_whenNotified_thenNoEventIsCreated() {
+        notifyAllCallbacks(new ProcessListenerDispatcher(List.of(new ProcessListener() {
+        }), clock));
+        assertEquals(0, clock.reads);
+    }
+
+    @Test
+    void givenListenerOverridingOneCallback_whenNotified_thenOnlyThatEventIsCreated() {
+        final var listener = new ProcessListener() {
+            @Override
+            public void onFetchedBuild(FetchedBuildEvent event) {
+                events.add(event);
+            }
+        };
+        notifyAllCallbacks(new ProcessListenerDispatcher(List.of(listener), clock));
+        assertEquals(1, clock.reads);
+        assertEquals(List.of(new FetchedBuildEvent(now, build)), events);
+    }
+
+    @Test
+    void givenListenerFromBuilder_whenNotified_thenOnlyEventsOfItsCallbacksAreCreated() {
+        final var listener = ProcessListener.builder()
+                .onCachedBuild(events::add)
+                .onProcessingFinished(events::add)
+                .build();
+        notifyAllCallbacks(new ProcessListenerDispatcher(List.of(listener), clock));
+        assertEquals(2, clock.reads);
+        assertEquals(List.of(new CachedBuildEvent(now, build), new ProcessingFinishedEvent(now)), events);
+    }
+
+    @Test
+    void givenListenersOverridingSameCallback_whenNotified_thenOneEventIsSentToEachInOrder() {
+        final var first = ProcessListener.builder().onDiscoveryStarted(events::add).build();
+        final var second = new ProcessListener() {
+            @Override
+            public void onDiscoveryStarted(DiscoveryStartedEvent event) {
+                events.add(event);
+            }
+        };
+        notifyAllCallbacks(new ProcessListenerDispatcher(List.of(first, second), clock));
+        assertEquals(1, clock.reads);
+        assertEquals(List.of(new DiscoveryStartedEvent(now, since), new DiscoveryStartedEvent(now, since)), events);
+        assertSame(events.get(0), events.get(1));
+    }
+
+    private void notifyAllCallbacks(ProcessListenerDispatcher dispatcher) {
+        dispatcher.discoveryStarted(since);
+        dispatcher.discoveryFinished(new DiscoveredBuilds());
+        dispatcher.processingStarted();
+        dispatcher.cachedBuild(build);
+        dispatcher.fetchedBuild(build);
+        dispatcher.processingFinished();
+    }
+
+    private static final class CountingClock extends Clock {
+
+        private int reads = 0;
+
+        @Override
+        public ZoneId getZone() {
+            return UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            reads++;
+            return now;
+        }
+
+    }
+
+}
@@ -0,0 +1,126 @@
+package dev.erichaag.develocity.processing.cache;
+
+import dev.erichaag.develocity.api.Build;
+import dev.erichaag.develocity.api.BuildModel;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static dev.erichaag.develocity.api.BuildModel.GRADLE_ATTRIBUTES;
+import static dev.erichaag.develocity.api.Builds.gradle;
+import static dev.erichaag.develocity.api.Builds.gradleAttributes;
+import static java.lang.Thread.State.WAITING;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class CoalescingCacheTest extends AbstractCacheTest {
+
+    private static final String id = "foobarbazqux1";
+
+    @Override
+    protected ProcessorCache createCache() {
+        return CoalescingCache.wrapping(InMemoryCache.withDefaultSize());
+    }
+
+    @Test
+    void givenLoadInFlight_whenSameBuildLoadedConcurrently_thenUnderlyingCacheIsLoadedOnce() throws InterruptedException {
+        final var build = gradle(id, gradleAttributes());
+        final var slowCache = new SlowCache(build);
+        final var cache = CoalescingCache.wrapping(slowCache);
+        final var loadedBuilds = new ConcurrentLinkedQueue<Optional<Build>>();
+        final var firstLoad = startLoad(cache, loadedBuilds);
+        while (slowCache.loads.get() == 0) Thread.onSpinWait();
+        final var coalescedLoads = List.of(startLoad(cache, loadedBuilds), startLoad(cache, loadedBuilds));
+        for (final var coalescedLoad : coalescedLoads) {
+            while (coalescedLoad.getState() != WAITING) Thread.onSpinWait();
+        }
+        slowCache.release.countDown();
+        firstLoad.join();
+        for (final var coalescedLoad : coalescedLoads) coalescedLoad.join();
+        assertEquals(1, slowCache.loads.get(), "Expected concurrent loads to be coalesced into a single load");
+        assertEquals(3, loadedBuilds.size());
+        loadedBuilds.forEach(it -> thenBuildIsRetrievedSuccessfully(build, it));
+    }
+
+    @Test
+    void givenLoadInFlight_whenUnderlyingCacheThrowsError_thenCoalescedLoadsFailWithError() throws InterruptedException {
+        final var error = new AssertionError("load failed");
+        final var slowCache = new SlowCache(error);
+        final var cache = CoalescingCache.wrapping(slowCache);
+        final var failures = new ConcurrentLinkedQueue<Throwable>();
+        final var firstLoad = startFailingLoad(cache, failures);
+        while (slowCache.loads.get() == 0) Thread.onSpinWait();
+        final var coalescedLoad = startFailingLoad(cache, failures);
+        while (coalescedLoad.getState() != WAITING) Thread.onSpinWait();
+        slowCache.release.countDown();
+        assertTrue(firstLoad.join(Duration.ofSeconds(5)) && coalescedLoad.join(Duration.ofSeconds(5)), "Expected coalesced loads to finish");
+        assertEquals(1, slowCache.loads.get());
+        assertEquals(List.of(error, error), List.copyOf(failures));
+    }
+
+    @Test
+    void givenNullBuildModels_whenLoaded_thenUnderlyingCacheIsLoaded() {
+        final var build = gradle(id, gradleAttributes());
+        final var slowCache = new SlowCache(build);
+        slowCache.release.countDown();
+        assertEquals(Optional.of(build), CoalescingCache.wrapping(slowCache).load(id, (Set<BuildModel>) null));
+    }
+
+    private static Thread startFailingLoad(ProcessorCache cache, Queue<Throwable> failures) {
+        return Thread.ofPlatform().start(() -> {
+            try {
+                cache.load(id, GRADLE_ATTRIBUTES);
+            } catch (Throwable e) {
+                failures.add(e);
+            }
+        });
+    }
+
+    private static Thread startLoad(ProcessorCache cache, Queue<Optional<Build>> loadedBuilds) {
+        return Thread.ofPlatform().start(() -> loadedBuilds.add(cache.load(id, GRADLE_ATTRIBUTES)));
+    }
+
+    private static final class SlowCache implements ProcessorCache {
+
+        private final Build build;
+        private final Error error;
+        private final AtomicInteger loads = new AtomicInteger();
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        private SlowCache(Build build) {
+            this.build = build;
+            this.error = null;
+        }
+
+        private SlowCache(Error error) {
+            this.build = null;
+            this.error = error;
+        }
+
+        @Override
+        public Optional<Build> load(String id, Set<BuildModel> requiredBuildModels) {
+            loads.incrementAndGet();
+            try {
+                release.await(5, SECONDS);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            if (error != null) throw error;
+            return Optional.of(build);
+        }
+
+        @Override
+        public void save(Build build) {
+        }
+
+    }
+
+}
@@ -2,12 +2,18 @@ package dev.erichaag.develocity.processing.cache;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
+import static dev.erichaag.develocity.api.BuildModel.GRADLE_ATTRIBUTES;
+import static dev.erichaag.develocity.api.Builds.gradle;
+import static dev.erichaag.develocity.api.Builds.gradleAttributes;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 final class FileSystemCacheTest extends AbstractCacheTest {
@@ -35,4 +41,18 @@ final class FileSystemCacheTest extends AbstractCacheTest {
         assertFalse(corruptCacheFile.exists(), "Expected the corrupt cache file to be deleted");
     }
 
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void givenStringInterning_whenSeveralBuildsLoaded_thenRepeatedStringsAreShared(boolean lazyBuildModels) {
+        final var cache = lazyBuildModels
+                ? FileSystemCache.withStrategy(cacheStrategy).withStringInterning().withLazyBuildModels()
+                : FileSystemCache.withStrategy(cacheStrategy).withStringInterning();
+        cache.save(gradle("foobarbazqux1", gradleAttributes()));
+        cache.save(gradle("foobarbazqux2", gradleAttributes()));
+        final var first = cache.load("foobarbazqux1", GRADLE_ATTRIBUTES).orElseThrow();
+        final var second = cache.load("foobarbazqux2", GRADLE_ATTRIBUTES).orElseThrow();
+        assertSame(first.getTags().getFirst(), second.getTags().getFirst());
+        assertSame(first.getProjectName(), second.getProjectName());
+    }
+
 }
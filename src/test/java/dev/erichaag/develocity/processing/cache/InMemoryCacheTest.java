@@ -24,4 +24,18 @@ final class InMemoryCacheTest extends AbstractCacheTest {
         assertTrue(cache.load(firstBuild.getId()).isEmpty());
     }
 
+    @Test
+    void givenFullCache_whenSaved_thenLeastRecentlyLoadedEntryIsPurged() {
+        final var firstBuild = gradle("foobarbazqux1");
+        final var secondBuild = gradle("foobarbazqux2");
+        final var thirdBuild = gradle("foobarbazqux3");
+        final var cache = InMemoryCache.withSize(2);
+        cache.save(firstBuild);
+        cache.save(secondBuild);
+        cache.load(firstBuild.getId());
+        cache.save(thirdBuild);
+        assertTrue(cache.load(firstBuild.getId()).isPresent());
+        assertTrue(cache.load(secondBuild.getId()).isEmpty());
+    }
+
 }
@@ -0,0 +1,80 @@
+package dev.erichaag.develocity.processing.cache;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import static dev.erichaag.develocity.api.BuildModel.GRADLE_ATTRIBUTES;
+import static dev.erichaag.develocity.api.BuildModel.GRADLE_PROJECTS;
+import static dev.erichaag.develocity.api.Builds.gradle;
+import static dev.erichaag.develocity.api.Builds.gradleAttributes;
+import static dev.erichaag.develocity.api.Builds.gradleProjects;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+final class LazyBuildModelsFileSystemCacheTest extends AbstractCacheTest {
+
+    private static final String id = "foobarbazqux1";
+
+    // The Gradle projects cannot be bound, so these builds can only be read,
+    // compared, and written as long as their build models are not bound
+    private static final String cachedBuild = """
+            {"id":"foobarbazqux1","availableAt":1,"buildToolType":"gradle","buildToolVersion":"8.10","buildAgentVersion":"3.18",\
+            "models":{"gradleAttributes":{"model":{"id":"foobarbazqux1","hasFailed":false}},"gradleProjects":{"model":"unbindable"}}}""";
+    private static final String reorderedCachedBuild = """
+            {"id":"foobarbazqux1","availableAt":1,"buildToolType":"gradle","buildToolVersion":"8.10","buildAgentVersion":"3.18",\
+            "models":{"gradleProjects":{"model":"unbindable"},"gradleAttributes":{"model":{"hasFailed":false,"id":"foobarbazqux1"}}}}""";
+
+    @TempDir private Path temporaryCacheDirectory;
+
+    @Override
+    protected ProcessorCache createCache() {
+        return FileSystemCache.withStrategy(new PartitioningFileSystemCacheStrategy(temporaryCacheDirectory, 2)).withLazyBuildModels();
+    }
+
+    @Test
+    void givenLazilyReadBuild_whenSaved_thenBuildModelsAreWrittenAsReadWithoutBeingBound() throws IOException {
+        givenCacheFile(temporaryCacheDirectory, cachedBuild);
+        final var build = whenBuildLoadedFromCache(id, GRADLE_ATTRIBUTES, GRADLE_PROJECTS).orElseThrow();
+        final var otherCacheStrategy = new PartitioningFileSystemCacheStrategy(temporaryCacheDirectory.resolve("other"), 2);
+        assertDoesNotThrow(() -> FileSystemCache.withStrategy(otherCacheStrategy).save(build));
+        final var jsonMapper = new JsonMapper();
+        assertEquals(jsonMapper.readTree(cachedBuild), jsonMapper.readTree(otherCacheStrategy.getPath(id).toFile()));
+    }
+
+    @Test
+    void givenLazilyReadBuildsWithFieldsInDifferentOrder_whenCompared_thenTheyAreEqualWithoutBeingBound() throws IOException {
+        givenCacheFile(temporaryCacheDirectory, cachedBuild);
+        givenCacheFile(temporaryCacheDirectory.resolve("other"), reorderedCachedBuild);
+        final var build = whenBuildLoadedFromCache(id, GRADLE_ATTRIBUTES).orElseThrow().getBuild();
+        final var reorderedBuild = FileSystemCache.withStrategy(new PartitioningFileSystemCacheStrategy(temporaryCacheDirectory.resolve("other"), 2))
+                .withLazyBuildModels()
+                .load(id, Set.of(GRADLE_ATTRIBUTES))
+                .orElseThrow()
+                .getBuild();
+        assertEquals(build, reorderedBuild);
+        assertEquals(build.hashCode(), reorderedBuild.hashCode());
+        assertDoesNotThrow(build::toString);
+    }
+
+    @Test
+    void givenBuildExistsInCacheWithMultipleModels_whenLoaded_thenModelsAreBoundOnAccess() {
+        final var buildInCache = givenBuildExistsInCache(gradle(id, gradleAttributes(), gradleProjects()));
+        final var buildFromCache = whenBuildLoadedFromCache(id, GRADLE_ATTRIBUTES, GRADLE_PROJECTS).orElseThrow();
+        assertEquals(buildInCache.getAvailableBuildModels(), buildFromCache.getAvailableBuildModels());
+        assertEquals(buildInCache.getTags(), buildFromCache.getTags());
+        assertEquals(buildInCache.getProjectName(), buildFromCache.getProjectName());
+    }
+
+    private static void givenCacheFile(Path cacheDirectory, String json) throws IOException {
+        final var cacheFile = new PartitioningFileSystemCacheStrategy(cacheDirectory, 2).getPath(id);
+        Files.createDirectories(cacheFile.getParent());
+        Files.writeString(cacheFile, json);
+    }
+
+}
@@ -87,6 +87,16 @@ public final class Builds {
         return (SbtBuild) Build.from(modify.apply(sbtApiBuild(id)));
     }
 
+    public static Build withoutModels(Build build) {
+        final var apiBuild = build.getBuild();
+        return Build.from(new ApiBuild()
+                .id(apiBuild.getId())
+                .availableAt(apiBuild.getAvailableAt())
+                .buildAgentVersion(apiBuild.getBuildAgentVersion())
+                .buildToolType(apiBuild.getBuildToolType())
+                .buildToolVersion(apiBuild.getBuildToolVersion()));
+    }
+
     private static ApiBuild gradleApiBuild(String id) {
         return new ApiBuild()
                 .id(id)
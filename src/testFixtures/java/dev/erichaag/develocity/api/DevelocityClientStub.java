@@ -1,5 +1,7 @@
 package dev.erichaag.develocity.api;
 
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -7,7 +9,6 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.function.Supplier;
 
-import static java.lang.Math.min;
 import static java.util.Collections.emptyList;
 
 public final class DevelocityClientStub implements DevelocityClient {
@@ -58,14 +59,33 @@ public final class DevelocityClientStub implements DevelocityClient {
             throw newDevelocityClientException.get();
         }
         maxBuilds = maxBuilds == null ? defaultMaxBuilds : maxBuilds;
-        if (fromBuild == null) {
-            return builds.subList(0, min(builds.size(), maxBuilds));
-        }
-        final var buildIndex = builds.indexOf(buildsById.get(fromBuild));
-        if (buildIndex == -1 || buildIndex == builds.size() - 1) {
+        final var buildIndex = fromBuild == null ? -1 : builds.indexOf(buildsById.get(fromBuild));
+        if (fromBuild != null && buildIndex == -1) {
             return emptyList();
         }
-        return builds.subList(buildIndex + 1, min(builds.size(), buildIndex + maxBuilds + 1));
+        return builds.subList(buildIndex + 1, builds.size()).stream()
+                .filter(it -> query == null || matches(it, query))
+                .limit(maxBuilds)
+                .map(it -> buildModels.isEmpty() ? Builds.withoutModels(it) : it)
+                .toList();
+    }
+
+    private static boolean matches(Build build, String query) {
+        return Arrays.stream(query.split(" and ")).allMatch(it -> matchesTerm(build, it.replaceAll("^\\(|\\)$", "")));
+    }
+
+    private static boolean matchesTerm(Build build, String term) {
+        if (term.startsWith("buildTool:")) {
+            return build.getBuild().getBuildToolType().equals(term.substring("buildTool:".length()));
+        }
+        // Discovered builds have no attributes, so availableAt stands in for the build start time
+        if (term.startsWith("buildStartTime>=")) {
+            return !build.getAvailableAt().isBefore(Instant.parse(term.substring("buildStartTime>=".length())));
+        }
+        if (term.startsWith("buildStartTime<")) {
+            return build.getAvailableAt().isBefore(Instant.parse(term.substring("buildStartTime<".length())));
+        }
+        throw new UnsupportedOperationException("Unsupported query: " + term);
     }
 
 }